@@ -17,7 +17,6 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.network.chat.Component;
 
-import java.util.EnumMap;
 import java.util.Locale;
 
 /**
@@ -32,8 +31,13 @@ import java.util.Locale;
  */
 public final class EvolutionBoostClient implements ClientModInitializer {
 
-    /** Pro Typ: Dimensionaler Multiplikator (aktuelle Dimension). */
-    private static final EnumMap<BoostType, Double> DIM_MULTS = new EnumMap<>(BoostType.class);
+    private static final BoostType[] BOOST_TYPES = BoostType.values();
+
+    /** Pro Typ (Index = Ordinal): Dimensionaler Multiplikator (aktuelle Dimension). */
+    private static final double[] DIM_MULTS = new double[BOOST_TYPES.length];
+
+    /** Sequenznummer des zuletzt angewendeten Dim-Boost-Pakets (-1 = noch keins). */
+    private static int lastHudSequence = -1;
     
     private static boolean trinketsClientInitialized = false;
 
@@ -73,13 +77,18 @@ public final class EvolutionBoostClient implements ClientModInitializer {
         ClientPlayNetworking.registerGlobalReceiver(
                 DimBoostHudPayload.TYPE,
                 (payload, context) -> {
-                    double[] dims = payload.multipliers();
                     Minecraft client = context.client();
 
                     client.execute(() -> {
-                        int len = Math.min(BoostType.values().length, dims.length);
-                        for (int i = 0; i < len; i++) {
-                            DIM_MULTS.put(BoostType.values()[i], dims[i]);
+                        int seq = payload.sequence();
+                        if (seq == DimBoostHudPayload.IGNORED_SEQUENCE) return;
+                        // veraltete/überholte Pakete verwerfen (mit Wrap-Around)
+                        if (lastHudSequence >= 0 && ((lastHudSequence - seq) & Integer.MAX_VALUE) < (1 << 30)) {
+                            return;
+                        }
+                        lastHudSequence = seq;
+                        for (int i = 0; i < DIM_MULTS.length; i++) {
+                            DIM_MULTS[i] = payload.multiplier(i);
                         }
                     });
                 }
@@ -147,8 +156,8 @@ public final class EvolutionBoostClient implements ClientModInitializer {
             int x = config.hudX;
             int y = Math.max(30, (int)(screenHeight * config.hudYPercent));
 
-            for (BoostType type : BoostType.values()) {
-                double dim = DIM_MULTS.getOrDefault(type, 1.0D);
+            for (BoostType type : BOOST_TYPES) {
+                double dim = DIM_MULTS[type.ordinal()];
                 if (dim <= 1.0001D) continue; // nur zeigen, wenn wirklich >1
 
                 String label = switch (type) {
@@ -179,9 +188,8 @@ public final class EvolutionBoostClient implements ClientModInitializer {
      * Setzt alle Boost-Multiplikatoren auf 1.0 zurück.
      */
     private static void resetBoostValues() {
-        for (BoostType t : BoostType.values()) {
-            DIM_MULTS.put(t, 1.0D);
-        }
+        java.util.Arrays.fill(DIM_MULTS, 1.0D);
+        lastHudSequence = -1;
     }
     
     /**
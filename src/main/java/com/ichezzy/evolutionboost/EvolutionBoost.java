@@ -2,6 +2,8 @@ package com.ichezzy.evolutionboost;
 
 import com.ichezzy.evolutionboost.block.ModBlocks;
 import com.ichezzy.evolutionboost.boost.BoostManager;
+import com.ichezzy.evolutionboost.boost.BoostStats;
+import com.ichezzy.evolutionboost.boost.EffectiveMultiplierCache;
 import com.ichezzy.evolutionboost.command.AdminCommand;
 import com.ichezzy.evolutionboost.command.BoostCommand;
 import com.ichezzy.evolutionboost.command.DexCommand;
@@ -20,8 +22,11 @@ import com.ichezzy.evolutionboost.gym.GymManager;
 import com.ichezzy.evolutionboost.hud.BoostHudSync;
 import com.ichezzy.evolutionboost.hud.DimBoostHudPayload;
 import com.ichezzy.evolutionboost.hud.HudTogglePayload;
+import com.ichezzy.evolutionboost.hud.TrackedBossbar;
+import com.ichezzy.evolutionboost.item.CharmState;
 import com.ichezzy.evolutionboost.item.ModItemGroup;
 import com.ichezzy.evolutionboost.item.ModItems;
+import com.ichezzy.evolutionboost.item.ShinyCharmHolderIndex;
 import com.ichezzy.evolutionboost.item.TicketManager;
 import com.ichezzy.evolutionboost.logging.CommandLogManager;
 import com.ichezzy.evolutionboost.permission.PermissionRegistry;
@@ -33,7 +38,11 @@ import com.ichezzy.evolutionboost.compat.cobblemon.QuestBattleHook;
 import com.ichezzy.evolutionboost.compat.cobblemon.QuestCatchHook;
 import com.ichezzy.evolutionboost.compat.cobblemon.QuestItemHook;
 import com.ichezzy.evolutionboost.reward.RewardManager;
+import com.ichezzy.evolutionboost.util.AsyncFileWriter;
+import com.ichezzy.evolutionboost.util.DeferredWork;
 import com.ichezzy.evolutionboost.util.DimensionRestrictions;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import com.ichezzy.evolutionboost.weather.ChristmasWeatherManager;
 import com.mojang.brigadier.CommandDispatcher;
 import net.fabricmc.api.ModInitializer;
@@ -81,6 +90,28 @@ public class EvolutionBoost implements ModInitializer {
         // ---- Dim-HUD Sync (nur Dimension-Multiplikatoren) ----
         BoostHudSync.init();
 
+        // ---- Effektiv-Multiplikator-Cache (XP/EV/IV-Hooks) ----
+        EffectiveMultiplierCache.init();
+
+        // ---- Boost-Zähler pro Dimension (/eb boost stats, logs/boosts/) ----
+        BoostStats.init();
+
+        // ---- Bossbars: Spieler-Zuordnung über Join/Leave/Dimensionswechsel ----
+        TrackedBossbar.init();
+
+        // ---- Charms: Bitset-Cache pro Spieler + räumlicher Shiny-Charm-Index ----
+        CharmState.init();
+        ShinyCharmHolderIndex.init();
+
+        // ---- Hook-Laufzeiten: periodische [perf]-Zusammenfassung (Details: /eb admin perf) ----
+        HookMetrics.init();
+
+        // ---- Hook-Fehler: gedrosseltes, aggregiertes Logging + Auto-Abschaltung ----
+        HookErrors.init();
+
+        // ---- Quest-/Dex-Nebenarbeit der Hooks: am Tick-Ende mit Zeitbudget ----
+        DeferredWork.init();
+
         // ---- Event-Wetter (Christmas-Storm etc.) ----
         ChristmasWeatherManager.init();
 
@@ -117,7 +148,7 @@ public class EvolutionBoost implements ModInitializer {
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
             NotificationConfig.init(server); // Notification-Einstellungen laden
             RewardManager.init(server);
-            BoostManager.get(server); // init/load
+            BoostManager.onServerStarted(server); // init/load + Cache für Hooks
             QuestManager.get().init(server); // Quest-System initialisieren
             RandomQuestManager.get().init(server); // Random Quest System initialisieren
             RandomQuestScheduler.register(); // Reset-Benachrichtigungen registrieren
@@ -161,11 +192,16 @@ public class EvolutionBoost implements ModInitializer {
             safeUnregister(server);
         });
 
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            BoostManager.onServerStopped();
+        });
+
         // ---- Join-Hinweise ----
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             ServerPlayer player = handler != null ? handler.player : null;
             if (player != null) {
                 RewardManager.onPlayerJoin(player);
+                QuestManager.get().onPlayerJoin(player.getUUID()); // Quest-Fortschritt asynchron laden
                 
                 // Alle Benachrichtigungen mit 2 Sekunden Verzögerung
                 final UUID playerId = player.getUUID();
@@ -192,6 +228,13 @@ public class EvolutionBoost implements ModInitializer {
             }
         });
 
+        // ---- Disconnect: ausstehenden Quest-Fortschritt schreiben ----
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler != null && handler.player != null) {
+                QuestManager.get().onPlayerDisconnect(handler.player.getUUID());
+            }
+        });
+
         // ---- Fallschaden in beschränkten Dimensionen deaktivieren ----
         // (event:*, evolution:* außer evolution:quarry)
         ServerLivingEntityEvents.ALLOW_DAMAGE.register((entity, source, amount) -> {
@@ -258,9 +301,11 @@ public class EvolutionBoost implements ModInitializer {
                     .invoke(null, server);
         } catch (Throwable ignored) {
         }
+        DeferredWork.drainAll(); // ausstehender Quest-/Dex-Fortschritt vor dem Speichern
         RewardManager.saveAll();
         QuestManager.get().shutdown(); // Quest-Daten speichern
         RandomQuestManager.get().shutdown(); // Random Quest-Daten speichern
         DexDataManager.shutdown(); // Pokédex-Daten speichern
+        AsyncFileWriter.flush(); // ausstehende Write-Behind-Schreibvorgänge (Config etc.)
     }
 }
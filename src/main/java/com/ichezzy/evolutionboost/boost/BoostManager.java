@@ -3,6 +3,7 @@ package com.ichezzy.evolutionboost.boost;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.configs.DebugConfig;
 import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
+import com.ichezzy.evolutionboost.hud.TrackedBossbar;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.registries.Registries;
@@ -13,8 +14,6 @@ import net.minecraft.network.chat.Style;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerBossEvent;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.BossEvent;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.saveddata.SavedData;
@@ -31,7 +30,7 @@ public class BoostManager extends SavedData {
     private static final String SAVE_KEY = EvolutionBoost.MOD_ID + "_boosts";
 
     private final Map<String, ActiveBoost> active = new ConcurrentHashMap<>();
-    private final Map<String, ServerBossEvent> bossbars = new HashMap<>();
+    private final Map<String, TrackedBossbar> bossbars = new HashMap<>();
 
     /** Dimensionale Multiplikatoren pro BoostType. */
     private final EnumMap<BoostType, Map<ResourceKey<Level>, Double>> dimensionMults =
@@ -40,20 +39,60 @@ public class BoostManager extends SavedData {
     /** Einmaliger Flag, damit wir Config-Daten nicht jedes Mal neu einlesen. */
     private boolean dimLoadedFromConfig = false;
     
-    /** Tick-Counter für Bossbar-Updates (Performance-Optimierung) */
-    private int tickCounter = 0;
+    /** Aktive Boosts sortiert nach endTimeMs – tick() schaut nur auf den Kopf. */
+    private final PriorityQueue<ActiveBoost> expiryQueue =
+            new PriorityQueue<>(Comparator.comparingLong(ab -> ab.endTimeMs));
 
-    /** 1.21.1-Weg: Factory + computeIfAbsent(factory, key). */
+    /** Nächster Zeitpunkt für ein Bossbar-Refresh (Long.MAX_VALUE = keine Bossbars aktiv). */
+    private long nextBossbarRefreshMs = Long.MAX_VALUE;
+
+    /** Bossbar-Refresh-Intervall (1 Sekunde, reicht für den Timer im Titel). */
+    private static final long BOSSBAR_REFRESH_MS = 1000L;
+
+    /** Vorberechnete Multiplikatoren; wird nur bei Änderungen neu gebaut (siehe rebuildMultiplierTable). */
+    private volatile MultiplierTable table = MultiplierTable.EMPTY;
+
+    /** Factory wird nur einmal gebaut statt bei jedem get(). */
+    private static final SavedData.Factory<BoostManager> FACTORY = new SavedData.Factory<>(
+            BoostManager::new,
+            BoostManager::load,
+            null
+    );
+
+    /** Gecachte Instanz für die Laufzeit des Servers (SERVER_STARTED bis SERVER_STOPPED). */
+    private static volatile BoostManager CURRENT;
+
+    /** Listener, die nach jeder Änderung der Multiplikatoren benachrichtigt werden (z.B. HUD-Sync). */
+    private static final List<Runnable> CHANGE_LISTENERS = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    /**
+     * Liefert den BoostManager. Während der Server läuft ist das nur ein volatile-Read
+     * (keine Allokation, kein SavedData-Lookup) – wichtig für die Hooks und Tick-Listener.
+     */
     public static BoostManager get(MinecraftServer server) {
+        BoostManager cached = CURRENT;
+        if (cached != null) return cached;
+        return lookup(server);
+    }
+
+    /** Beim SERVER_STARTED aufrufen: lädt die SavedData und cached sie. */
+    public static BoostManager onServerStarted(MinecraftServer server) {
+        BoostManager manager = lookup(server);
+        CURRENT = manager;
+        return manager;
+    }
+
+    /** Beim SERVER_STOPPED aufrufen: Cache leeren (neue Welt = neue SavedData). */
+    public static void onServerStopped() {
+        CURRENT = null;
+    }
+
+    /** 1.21.1-Weg: Factory + computeIfAbsent(factory, key). */
+    private static BoostManager lookup(MinecraftServer server) {
         var level = server.overworld();
         if (level == null) throw new IllegalStateException("[evolutionboost] Overworld not ready yet");
         var storage = level.getDataStorage();
-        var factory = new SavedData.Factory<>(
-                BoostManager::new,
-                BoostManager::load,
-                null
-        );
-        BoostManager manager = storage.computeIfAbsent(factory, SAVE_KEY);
+        BoostManager manager = storage.computeIfAbsent(FACTORY, SAVE_KEY);
         if (!manager.dimLoadedFromConfig) {
             manager.reloadDimensionMultipliersFromConfig();
             manager.dimLoadedFromConfig = true;
@@ -84,7 +123,12 @@ public class BoostManager extends SavedData {
             ActiveBoost ab = new ActiveBoost(type, scope, mult, duration);
             ab.bossBarId = key;
             m.active.put(key, ab);
+            m.expiryQueue.add(ab);
+        }
+        if (!m.active.isEmpty()) {
+            m.nextBossbarRefreshMs = System.currentTimeMillis();
         }
+        m.rebuildMultiplierTable();
         return m;
     }
 
@@ -120,8 +164,16 @@ public class BoostManager extends SavedData {
 
         String key = makeKey(ab);
         ab.bossBarId = key;
-        active.put(key, ab);
+        ActiveBoost previous = active.put(key, ab);
+        if (previous != null) {
+            expiryQueue.remove(previous);
+        }
+        expiryQueue.add(ab);
+        rebuildMultiplierTable();
         createOrUpdateBossbar(server, ab);
+        if (nextBossbarRefreshMs == Long.MAX_VALUE) {
+            nextBossbarRefreshMs = System.currentTimeMillis() + BOSSBAR_REFRESH_MS;
+        }
         setDirty();
         return key;
     }
@@ -150,7 +202,11 @@ public class BoostManager extends SavedData {
     }
 
     private void removeActiveAndBar(String key) {
-        active.remove(key);
+        ActiveBoost removed = active.remove(key);
+        if (removed != null) {
+            expiryQueue.remove(removed);
+        }
+        rebuildMultiplierTable();
         removeBossbar(key);
         setDirty();
     }
@@ -174,20 +230,15 @@ public class BoostManager extends SavedData {
         }
 
         dimensionMults.get(type).put(dim, clamped);
+        rebuildMultiplierTable();
 
         String dimKey = dim.location().toString();
-        Map<String, Double> byType = cfg.dimensionBoosts
-                .computeIfAbsent(dimKey, k -> new LinkedHashMap<>());
-
         if (clamped <= 1.0) {
-            byType.remove(type.name());
-            if (byType.isEmpty()) {
-                cfg.dimensionBoosts.remove(dimKey);
-            }
+            EvolutionBoostConfig.removeDimensionBoost(dimKey, type.name());
         } else {
-            byType.put(type.name(), clamped);
+            EvolutionBoostConfig.putDimensionBoost(dimKey, type.name(), clamped);
         }
-        EvolutionBoostConfig.save();
+        EvolutionBoostConfig.saveAsync();
 
         if (DebugConfig.get().debugDimensionBoosts) {
             EvolutionBoost.LOGGER.info("[Boost][dim] Set dim boost dim={} type={} mult={}",
@@ -198,16 +249,10 @@ public class BoostManager extends SavedData {
     public void clearDimensionMultiplier(BoostType type, ResourceKey<Level> dim) {
         if (dim == null) return;
         dimensionMults.get(type).remove(dim);
+        rebuildMultiplierTable();
 
-        EvolutionBoostConfig cfg = EvolutionBoostConfig.get();
-        String dimKey = dim.location().toString();
-        Map<String, Double> byType = cfg.dimensionBoosts.get(dimKey);
-        if (byType != null) {
-            byType.remove(type.name());
-            if (byType.isEmpty()) {
-                cfg.dimensionBoosts.remove(dimKey);
-            }
-            EvolutionBoostConfig.save();
+        if (EvolutionBoostConfig.removeDimensionBoost(dim.location().toString(), type.name())) {
+            EvolutionBoostConfig.saveAsync();
         }
 
         if (DebugConfig.get().debugDimensionBoosts) {
@@ -220,10 +265,10 @@ public class BoostManager extends SavedData {
         for (BoostType t : BoostType.values()) {
             dimensionMults.get(t).remove(dim);
         }
+        rebuildMultiplierTable();
 
-        EvolutionBoostConfig cfg = EvolutionBoostConfig.get();
-        cfg.dimensionBoosts.remove(dim.location().toString());
-        EvolutionBoostConfig.save();
+        EvolutionBoostConfig.removeDimensionBoosts(dim.location().toString());
+        EvolutionBoostConfig.saveAsync();
 
         if (DebugConfig.get().debugDimensionBoosts) {
             EvolutionBoost.LOGGER.info("[Boost][dim] Cleared ALL dim boosts for dim={}", dim.location());
@@ -238,9 +283,9 @@ public class BoostManager extends SavedData {
         for (BoostType t : BoostType.values()) {
             dimensionMults.get(t).clear();
         }
-        EvolutionBoostConfig cfg = EvolutionBoostConfig.get();
-        cfg.dimensionBoosts.clear();
-        EvolutionBoostConfig.save();
+        rebuildMultiplierTable();
+        EvolutionBoostConfig.clearDimensionBoosts();
+        EvolutionBoostConfig.saveAsync();
 
         if (DebugConfig.get().debugDimensionBoosts) {
             EvolutionBoost.LOGGER.info("[Boost][dim] Cleared all dimension boosts (all dimensions).");
@@ -249,7 +294,7 @@ public class BoostManager extends SavedData {
 
     public double getDimensionMultiplier(BoostType type, ResourceKey<Level> dim) {
         if (dim == null) return 1.0;
-        return dimensionMults.get(type).getOrDefault(dim, 1.0);
+        return table.dimension(type, MultiplierTable.peek(dim));
     }
 
     /**
@@ -264,6 +309,7 @@ public class BoostManager extends SavedData {
         }
 
         if (cfg.dimensionBoosts == null || cfg.dimensionBoosts.isEmpty()) {
+            rebuildMultiplierTable();
             if (DebugConfig.get().debugDimensionBoosts) {
                 EvolutionBoost.LOGGER.info("[Boost][dim] No dimension boosts in config (nothing to load).");
             }
@@ -302,6 +348,7 @@ public class BoostManager extends SavedData {
                 countEntries++;
             }
         }
+        rebuildMultiplierTable();
 
         if (DebugConfig.get().debugDimensionBoosts) {
             EvolutionBoost.LOGGER.info("[Boost][dim] Loaded {} dimension entries across {} dimensions from config.",
@@ -317,22 +364,17 @@ public class BoostManager extends SavedData {
     /**
      * GLOBAL × DIMENSION. Player-spezifische Boosts existieren nicht mehr.
      * dimOrNull = Dimension, in der das Event stattfindet (oder null, falls unbekannt).
+     *
+     * Liest nur den vorberechneten Snapshot (lock-frei, ohne Schleife). Abgelaufene Boosts
+     * verschwinden beim nächsten tick() aus dem Snapshot.
      */
     public double getMultiplierFor(BoostType type, java.util.UUID ignoredPlayer, ResourceKey<Level> dimOrNull) {
-        long now = System.currentTimeMillis();
-        double globalMult = 1.0;
-
-        for (ActiveBoost ab : active.values()) {
-            if (ab.type != type) continue;
-            if (ab.endTimeMs < now) continue;
-            // es gibt nur GLOBAL-Boosts
-            globalMult *= ab.multiplier;
-        }
-
-        double dimMult = getDimensionMultiplier(type, dimOrNull);
+        MultiplierTable t = table;
+        double globalMult = t.global(type);
+        double dimMult = t.dimension(type, MultiplierTable.peek(dimOrNull));
         double result = globalMult * dimMult;
 
-        if (DebugConfig.get().debugDimensionBoosts) {
+        if (t.debug) {
             EvolutionBoost.LOGGER.info(
                     "[Boost][dim][get] type={} dim={} globalMult={} dimMult={} result={}",
                     type,
@@ -346,29 +388,82 @@ public class BoostManager extends SavedData {
         return result;
     }
 
+    /**
+     * Registriert einen Listener, der nach jedem Rebuild des Multiplikator-Snapshots läuft
+     * (Boost hinzugefügt/entfernt/abgelaufen, Dim-Multiplikator geändert).
+     * Listener sollten nur Flags setzen – die eigentliche Arbeit gehört in den nächsten Tick.
+     */
+    public static void addChangeListener(Runnable listener) {
+        CHANGE_LISTENERS.add(listener);
+    }
+
+    /** Versionsnummer des aktuellen Multiplikator-Snapshots (steigt bei jeder Änderung). */
+    public long multiplierVersion() {
+        return table.version;
+    }
+
+    /**
+     * Baut den Multiplikator-Snapshot aus active + dimensionMults neu und veröffentlicht ihn.
+     * Muss nach jeder Änderung an Boosts oder Dim-Multiplikatoren aufgerufen werden.
+     */
+    private synchronized void rebuildMultiplierTable() {
+        double[] global = MultiplierTable.identityRow();
+        for (ActiveBoost ab : active.values()) {
+            // es gibt nur GLOBAL-Boosts
+            global[ab.type.ordinal()] *= ab.multiplier;
+        }
+
+        double[][] byDim = new double[0][];
+        for (BoostType type : BoostType.values()) {
+            for (var e : dimensionMults.get(type).entrySet()) {
+                int id = MultiplierTable.intern(e.getKey());
+                if (id >= byDim.length) {
+                    byDim = Arrays.copyOf(byDim, id + 1);
+                }
+                if (byDim[id] == null) {
+                    byDim[id] = MultiplierTable.identityRow();
+                }
+                byDim[id][type.ordinal()] = e.getValue();
+            }
+        }
+
+        MultiplierTable old = this.table;
+        this.table = new MultiplierTable(old.version + 1, global, byDim, DebugConfig.get().debugDimensionBoosts);
+
+        for (Runnable listener : CHANGE_LISTENERS) {
+            listener.run();
+        }
+    }
+
     // ---------- Tick / Bossbars ----------
 
+    /**
+     * Wird jeden Server-Tick aufgerufen. Kostet O(1), solange weder ein Boost abläuft
+     * noch ein Bossbar-Refresh fällig ist (nur Blick auf den Kopf der Queue).
+     */
     public void tick(MinecraftServer server) {
-        tickCounter++;
-        
-        // Bossbar-Updates nur alle 20 Ticks (1 Sekunde) für bessere Performance
-        boolean updateBossbars = (tickCounter % 20 == 0);
-        
         long now = System.currentTimeMillis();
-        List<String> toRemove = new ArrayList<>();
-        for (var entry : active.entrySet()) {
-            String key = entry.getKey();
-            ActiveBoost ab = entry.getValue();
-            long left = ab.millisLeft(now);
-            if (left <= 0) {
-                toRemove.add(key);
-                continue;
+        ActiveBoost head = expiryQueue.peek();
+        boolean expiryDue = head != null && head.endTimeMs <= now;
+        if (!expiryDue && now < nextBossbarRefreshMs) {
+            return;
+        }
+
+        // Abgelaufene Boosts (nur der Kopf der Queue ist relevant)
+        while ((head = expiryQueue.peek()) != null && head.endTimeMs <= now) {
+            expiryQueue.poll();
+            if (active.get(head.bossBarId) == head) {
+                removeActiveAndBar(head.bossBarId);
             }
-            if (updateBossbars) {
-                updateBossbar(server, ab, left);
+        }
+
+        // Bossbar-Refresh als eigenes, zeitgesteuertes Ereignis
+        if (now >= nextBossbarRefreshMs) {
+            for (ActiveBoost ab : active.values()) {
+                updateBossbar(server, ab, ab.millisLeft(now));
             }
+            nextBossbarRefreshMs = active.isEmpty() ? Long.MAX_VALUE : now + BOSSBAR_REFRESH_MS;
         }
-        toRemove.forEach(this::removeActiveAndBar);
     }
 
     private static String makeKey(ActiveBoost ab) {
@@ -377,62 +472,74 @@ public class BoostManager extends SavedData {
     }
 
     private void createOrUpdateBossbar(MinecraftServer server, ActiveBoost ab) {
-        var color = BoostColors.color(ab.type);
-        var overlay = BossEvent.BossBarOverlay.PROGRESS;
-        ServerBossEvent bar = bossbars.get(ab.bossBarId);
+        TrackedBossbar bar = bossbars.get(ab.bossBarId);
         if (bar == null) {
-            bar = new ServerBossEvent(titleFor(ab, ab.durationMs), color, overlay);
+            // GLOBAL -> alle Spieler (Mitgliedschaft pflegt TrackedBossbar über Events)
+            bar = TrackedBossbar.create(server, titleFor(ab, ab.durationMs),
+                    BoostColors.color(ab.type), BossEvent.BossBarOverlay.PROGRESS, null);
             bossbars.put(ab.bossBarId, bar);
         }
-        // GLOBAL -> alle Spieler
-        for (ServerPlayer sp : server.getPlayerList().getPlayers()) {
-            if (!bar.getPlayers().contains(sp)) {
-                bar.addPlayer(sp);
-            }
-        }
         updateBossbar(server, ab, ab.millisLeft(System.currentTimeMillis()));
     }
 
     private void updateBossbar(MinecraftServer server, ActiveBoost ab, long leftMs) {
-        ServerBossEvent bar = bossbars.get(ab.bossBarId);
+        TrackedBossbar bar = bossbars.get(ab.bossBarId);
         if (bar == null) return;
-        float progress = Math.max(0f, Math.min(1f, (float) leftMs / (float) ab.durationMs));
-        bar.setProgress(progress);
-        bar.setName(titleFor(ab, leftMs));
-
-        for (ServerPlayer sp : server.getPlayerList().getPlayers()) {
-            if (!bar.getPlayers().contains(sp)) {
-                bar.addPlayer(sp);
-            }
-        }
+        float progress = (float) leftMs / (float) ab.durationMs;
+        bar.update(titleText(ab, leftMs), txt -> styledTitle(ab, txt), progress);
     }
 
     private void removeBossbar(String key) {
-        ServerBossEvent bar = bossbars.remove(key);
+        TrackedBossbar bar = bossbars.remove(key);
         if (bar != null) {
-            for (ServerPlayer sp : new ArrayList<>(bar.getPlayers())) {
-                bar.removePlayer(sp);
-            }
+            bar.remove();
         }
     }
 
     /** Hübscher Titel für die Bossbar (GLOBAL-Boosts). */
     private Component titleFor(ActiveBoost ab, long leftMs) {
-        String timer = formatDuration(leftMs);
-        String txt = "[EVOLUTIONBOOST] GLOBAL " + ab.type + " x" + ab.multiplier + " " + timer;
+        return styledTitle(ab, titleText(ab, leftMs));
+    }
+
+    private static String titleText(ActiveBoost ab, long leftMs) {
+        StringBuilder sb = new StringBuilder(48)
+                .append("[EVOLUTIONBOOST] GLOBAL ").append(ab.type)
+                .append(" x").append(ab.multiplier).append(' ');
+        appendDuration(sb, leftMs);
+        return sb.toString();
+    }
 
+    private static Component styledTitle(ActiveBoost ab, String txt) {
         ChatFormatting color = BoostColors.chatColor(ab.type);
         return Component.literal(txt).setStyle(Style.EMPTY.withColor(color).withBold(true));
     }
 
-    private static String formatDuration(long ms) {
+    /** Wie früher "(%dd %02dh %02dm)" usw., aber ohne String.format. */
+    private static void appendDuration(StringBuilder sb, long ms) {
         long s = Math.max(0, ms / 1000);
         long d = s / 86_400; s %= 86_400;
         long h = s / 3600;   s %= 3600;
         long m = s / 60;     s %= 60;
-        if (d > 0) return String.format("(%dd %02dh %02dm)", d, h, m);
-        if (h > 0) return String.format("(%dh %02dm %02ds)", h, m, s);
-        if (m > 0) return String.format("(%dm %02ds)", m, s);
-        return String.format("(%ds)", s);
+        sb.append('(');
+        if (d > 0) {
+            sb.append(d).append("d ");
+            pad2(sb, h).append("h ");
+            pad2(sb, m).append('m');
+        } else if (h > 0) {
+            sb.append(h).append("h ");
+            pad2(sb, m).append("m ");
+            pad2(sb, s).append('s');
+        } else if (m > 0) {
+            sb.append(m).append("m ");
+            pad2(sb, s).append('s');
+        } else {
+            sb.append(s).append('s');
+        }
+        sb.append(')');
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, long v) {
+        if (v < 10) sb.append('0');
+        return sb.append(v);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package com.ichezzy.evolutionboost.boost;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import com.ichezzy.evolutionboost.util.AsyncFileWriter;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Immer aktive Zähler pro Dimension und BoostType (seit Serverstart), als Ersatz für
+ * das Grep-en von logBoostApplications-Zeilen beim Einstellen von Event-Multiplikatoren.
+ *
+ * Bedeutung je Typ:
+ * - XP / EV: seen = Events, boosted = geboostete Events, bonus = zusätzlich vergebene XP / EVs
+ * - IV:      seen = erhaltene Pokémon, boosted = Pokémon mit mind. einem Upgrade, bonus = auf 31 gezogene Stats
+ * - SHINY:   seen = Spawns, boosted = erzwungene Shinies, expected = erwartete erzwungene Shinies (Σ Zusatzchance),
+ *            baseline = erwartete natürliche Shinies ohne Boost (Σ 1/shinyBaseOdds)
+ *
+ * Alle paar Minuten (debug.json: boostStatsSnapshotMinutes) wird ein Snapshot nach
+ * config/evolutionboost/logs/boosts/ geschrieben: boost-stats.json (aktueller Stand) und
+ * boost-stats.csv (rollierend, die letzten {@value #MAX_SNAPSHOTS} Snapshots).
+ * Im Spiel: /eb boost stats.
+ */
+public final class BoostStats {
+
+    private static final int TYPE_COUNT = BoostType.values().length;
+
+    /** 24 h bei 5-Minuten-Intervall. */
+    private static final int MAX_SNAPSHOTS = 288;
+
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Map<ResourceKey<Level>, Counters> BY_DIM = new ConcurrentHashMap<>();
+
+    /** CSV-Blöcke der letzten Snapshots (nur Server-Thread). */
+    private static final Deque<List<String>> CSV_HISTORY = new ArrayDeque<>();
+
+    private static volatile Instant since = Instant.now();
+
+    private BoostStats() {}
+
+    public static final class Counters {
+        final LongAdder[] seen = adders();
+        final LongAdder[] boosted = adders();
+        final LongAdder[] bonus = adders();
+        final DoubleAdder[] expected = doubleAdders();
+        final DoubleAdder[] baseline = doubleAdders();
+
+        private static LongAdder[] adders() {
+            LongAdder[] a = new LongAdder[TYPE_COUNT];
+            for (int i = 0; i < a.length; i++) a[i] = new LongAdder();
+            return a;
+        }
+
+        private static DoubleAdder[] doubleAdders() {
+            DoubleAdder[] a = new DoubleAdder[TYPE_COUNT];
+            for (int i = 0; i < a.length; i++) a[i] = new DoubleAdder();
+            return a;
+        }
+
+        public long seen(BoostType t) { return seen[t.ordinal()].sum(); }
+        public long boosted(BoostType t) { return boosted[t.ordinal()].sum(); }
+        public long bonus(BoostType t) { return bonus[t.ordinal()].sum(); }
+        public double expected(BoostType t) { return expected[t.ordinal()].sum(); }
+        public double baseline(BoostType t) { return baseline[t.ordinal()].sum(); }
+    }
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(BoostStats::onServerTick);
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> since = Instant.now());
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> snapshot());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            BY_DIM.clear();
+            CSV_HISTORY.clear();
+        });
+    }
+
+    private static Counters counters(ResourceKey<Level> dim) {
+        return BY_DIM.computeIfAbsent(dim, k -> new Counters());
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Erfassung (Hooks)                                                  */
+    /* ------------------------------------------------------------------ */
+
+    public static void seen(BoostType type, ResourceKey<Level> dim) {
+        counters(dim).seen[type.ordinal()].increment();
+    }
+
+    public static void boosted(BoostType type, ResourceKey<Level> dim, long bonus) {
+        Counters c = counters(dim);
+        c.boosted[type.ordinal()].increment();
+        if (bonus != 0) c.bonus[type.ordinal()].add(bonus);
+    }
+
+    /** Ein Spawn: zählt ihn und addiert die natürliche Shiny-Chance. */
+    public static void shinySpawn(ResourceKey<Level> dim, double naturalChance) {
+        Counters c = counters(dim);
+        int i = BoostType.SHINY.ordinal();
+        c.seen[i].increment();
+        c.baseline[i].add(naturalChance);
+    }
+
+    /** Zusatzchance eines Spawns, der gewürfelt wurde (Erwartungswert erzwungener Shinies). */
+    public static void shinyRolled(ResourceKey<Level> dim, double extraChance) {
+        counters(dim).expected[BoostType.SHINY.ordinal()].add(extraChance);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Abfrage                                                            */
+    /* ------------------------------------------------------------------ */
+
+    public static Instant since() {
+        return since;
+    }
+
+    /** Momentaufnahme, sortiert nach Dimension. */
+    public static Map<String, Counters> byDimension() {
+        Map<String, Counters> out = new TreeMap<>();
+        BY_DIM.forEach((dim, c) -> out.put(dim.location().toString(), c));
+        return out;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Snapshot                                                           */
+    /* ------------------------------------------------------------------ */
+
+    private static void onServerTick(MinecraftServer server) {
+        int minutes = DebugConfig.get().boostStatsSnapshotMinutes;
+        if (minutes <= 0) return;
+        if (server.getTickCount() % (minutes * TICKS_PER_MINUTE) != 0) return;
+        snapshot();
+    }
+
+    private static Path dir() {
+        return Path.of("config", "evolutionboost", "logs", "boosts");
+    }
+
+    /** Schreibt JSON (aktuell) und CSV (rollierend) über den Write-Behind-Thread. */
+    private static void snapshot() {
+        if (BY_DIM.isEmpty()) return;
+
+        String now = Instant.now().toString();
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("since", since.toString());
+        root.put("updated", now);
+        Map<String, Object> dims = new LinkedHashMap<>();
+        List<String> rows = new ArrayList<>();
+
+        byDimension().forEach((dim, c) -> {
+            Map<String, Object> types = new LinkedHashMap<>();
+            for (BoostType t : BoostType.values()) {
+                if (c.seen(t) == 0 && c.boosted(t) == 0) continue;
+                Map<String, Object> v = new LinkedHashMap<>();
+                v.put("seen", c.seen(t));
+                v.put("boosted", c.boosted(t));
+                v.put("bonus", c.bonus(t));
+                if (t == BoostType.SHINY) {
+                    v.put("expectedForced", round(c.expected(t)));
+                    v.put("expectedNatural", round(c.baseline(t)));
+                }
+                types.put(t.name(), v);
+                rows.add(String.join(",", now, dim, t.name(),
+                        Long.toString(c.seen(t)), Long.toString(c.boosted(t)), Long.toString(c.bonus(t)),
+                        Double.toString(round(c.expected(t))), Double.toString(round(c.baseline(t)))));
+            }
+            dims.put(dim, types);
+        });
+        root.put("dimensions", dims);
+
+        CSV_HISTORY.addLast(rows);
+        while (CSV_HISTORY.size() > MAX_SNAPSHOTS) {
+            CSV_HISTORY.removeFirst();
+        }
+
+        String json = GSON.toJson(root);
+        StringBuilder csv = new StringBuilder("timestamp,dimension,type,seen,boosted,bonus,expected,baseline\n");
+        for (List<String> block : CSV_HISTORY) {
+            for (String row : block) csv.append(row).append('\n');
+        }
+        String csvText = csv.toString();
+
+        AsyncFileWriter.schedule(dir().resolve("boost-stats.json"), () -> json, 0L);
+        AsyncFileWriter.schedule(dir().resolve("boost-stats.csv"), () -> csvText, 0L);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ichezzy.evolutionboost.boost;
+
+import com.ichezzy.evolutionboost.item.XPCharmItem;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pro-Tick-Cache für den effektiven Multiplikator (GLOBAL × DIMENSION × CHARM) pro Spieler.
+ *
+ * Ein Multi-Battle oder Raid feuert oft dutzende XP/EV/IV-Events für denselben Spieler im
+ * selben Tick. Die Charm-Prüfung scannt dabei jedes Mal Inventar + Trinkets. Hier wird jede
+ * Kombination (Spieler, BoostType, Dimension) höchstens einmal pro Tick berechnet; ändert sich
+ * der Boost-Snapshot im BoostManager (Version), wird sofort neu gerechnet.
+ *
+ * Genutzt von XpHook, EvHook und IvHook.
+ */
+public final class EffectiveMultiplierCache {
+
+    private static final int TYPE_COUNT = BoostType.values().length;
+
+    private static final Map<UUID, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private EffectiveMultiplierCache() {}
+
+    /** Ein Slot pro BoostType, gestempelt mit Tick + Boost-Version + Dimension. */
+    private static final class Entry {
+        final long[] tick = new long[TYPE_COUNT];
+        final long[] version = new long[TYPE_COUNT];
+        @SuppressWarnings("unchecked")
+        final ResourceKey<Level>[] dim = new ResourceKey[TYPE_COUNT];
+        final double[] value = new double[TYPE_COUNT];
+
+        Entry() {
+            Arrays.fill(tick, -1L);
+        }
+    }
+
+    public static void init() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler != null && handler.player != null) {
+                ENTRIES.remove(handler.player.getUUID());
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> ENTRIES.clear());
+    }
+
+    /**
+     * Effektiver Multiplikator für ein Event.
+     * playerOrNull = null -> nur GLOBAL × DIMENSION (ohne Charm, ohne Cache).
+     */
+    public static double get(MinecraftServer server, ServerPlayer playerOrNull,
+                             BoostType type, ResourceKey<Level> dim) {
+        BoostManager bm = BoostManager.get(server);
+        if (playerOrNull == null) {
+            return bm.getMultiplierFor(type, null, dim);
+        }
+
+        long tick = server.getTickCount();
+        long version = bm.multiplierVersion();
+        int i = type.ordinal();
+
+        Entry e = ENTRIES.computeIfAbsent(playerOrNull.getUUID(), k -> new Entry());
+        if (e.tick[i] == tick && e.version[i] == version && e.dim[i] == dim) {
+            return e.value[i];
+        }
+
+        double value = bm.getMultiplierFor(type, null, dim) * charmMultiplier(type, playerOrNull);
+        e.tick[i] = tick;
+        e.version[i] = version;
+        e.dim[i] = dim;
+        e.value[i] = value;
+        return value;
+    }
+
+    /** Spielergebundene Charms. Der Shiny Charm wirkt flächig und läuft über ShinyHook. */
+    private static double charmMultiplier(BoostType type, ServerPlayer player) {
+        if (type == BoostType.XP) {
+            return XPCharmItem.getXPMultiplier(player);
+        }
+        return 1.0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ichezzy.evolutionboost.boost;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unveränderlicher Snapshot aller Multiplikatoren (GLOBAL und DIMENSION) pro BoostType.
+ *
+ * Wird vom BoostManager nur bei Änderungen neu gebaut (Boost hinzugefügt/entfernt/abgelaufen,
+ * Dim-Multiplikator geändert) und per volatile-Feld veröffentlicht. Leser machen nur noch
+ * einen Array-Zugriff über BoostType-Ordinal und internierte Dimension-ID – kein Lock,
+ * keine Schleife über aktive Boosts.
+ */
+final class MultiplierTable {
+
+    static final int TYPE_COUNT = BoostType.values().length;
+
+    /** Dimension -> fortlaufende ID. Wächst nur; es gibt nur endlich viele Dimensionen. */
+    private static final Map<ResourceKey<Level>, Integer> DIM_IDS = new ConcurrentHashMap<>();
+
+    static final MultiplierTable EMPTY = new MultiplierTable(0L, identityRow(), new double[0][], false);
+
+    /** Laufende Versionsnummer (steigt bei jedem Rebuild). */
+    final long version;
+
+    /** Produkt aller aktiven GLOBAL-Boosts pro BoostType-Ordinal. */
+    private final double[] global;
+
+    /** [dimId][typeOrdinal] -> Dim-Multiplikator; null-Zeile = keine Dim-Boosts. */
+    private final double[][] byDim;
+
+    /** Snapshot von DebugConfig.debugDimensionBoosts zum Zeitpunkt des Rebuilds. */
+    final boolean debug;
+
+    MultiplierTable(long version, double[] global, double[][] byDim, boolean debug) {
+        this.version = version;
+        this.global = global;
+        this.byDim = byDim;
+        this.debug = debug;
+    }
+
+    /** Liefert die ID einer Dimension und legt sie bei Bedarf an (nur beim Rebuild benutzen). */
+    static int intern(ResourceKey<Level> dim) {
+        Integer id = DIM_IDS.get(dim);
+        if (id != null) return id;
+        synchronized (DIM_IDS) {
+            return DIM_IDS.computeIfAbsent(dim, k -> DIM_IDS.size());
+        }
+    }
+
+    /** Liefert die ID einer Dimension oder -1, falls sie nie einen Dim-Boost hatte. */
+    static int peek(ResourceKey<Level> dim) {
+        if (dim == null) return -1;
+        Integer id = DIM_IDS.get(dim);
+        return id != null ? id : -1;
+    }
+
+    static double[] identityRow() {
+        double[] row = new double[TYPE_COUNT];
+        Arrays.fill(row, 1.0);
+        return row;
+    }
+
+    double global(BoostType type) {
+        return global[type.ordinal()];
+    }
+
+    double dimension(BoostType type, int dimId) {
+        if (dimId < 0 || dimId >= byDim.length) return 1.0;
+        double[] row = byDim[dimId];
+        return row != null ? row[type.ordinal()] : 1.0;
+    }
+}
@@ -1,11 +1,15 @@
 package com.ichezzy.evolutionboost.command;
 
 import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.compat.cobblemon.IvRollTable;
 import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
 import com.ichezzy.evolutionboost.item.TicketManager;
 import com.ichezzy.evolutionboost.permission.EvolutionboostPermissions;
 import com.ichezzy.evolutionboost.permission.PermissionRegistry;
+import com.ichezzy.evolutionboost.util.DeferredWork;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import net.minecraft.ChatFormatting;
@@ -23,6 +27,7 @@ import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.Level;
 
 import java.io.File;
@@ -30,6 +35,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Admin-Befehle für Server-Management.
@@ -43,6 +49,9 @@ import java.util.Map;
  * /eb admin tpspawn player <player> - Teleportiert einen Spieler zum Spawn
  * /eb admin info                    - Zeigt Server-Info
  * /eb admin gc                      - Führt Garbage Collection aus
+ * /eb admin perf                    - Laufzeit-Statistik der Cobblemon-Hooks
+ * /eb admin perf reset              - Setzt die Hook-Statistik zurück
+ * /eb admin selftest iv [samples]   - Chi²-Test der IV-Boost-Verteilung (P(31) = M/32)
  * /eb admin permissions             - Zeigt alle verfügbaren Permissions
  */
 public final class AdminCommand {
@@ -100,6 +109,21 @@ public final class AdminCommand {
                 .then(Commands.literal("gc")
                         .executes(ctx -> runGC(ctx.getSource())))
 
+                // /eb admin perf [reset]
+                .then(Commands.literal("perf")
+                        .executes(ctx -> showPerf(ctx.getSource()))
+                        .then(Commands.literal("reset")
+                                .executes(ctx -> resetPerf(ctx.getSource()))))
+
+                // /eb admin selftest iv [samples]
+                .then(Commands.literal("selftest")
+                        .then(Commands.literal("iv")
+                                .executes(ctx -> selfTestIv(ctx.getSource(), 200_000))
+                                .then(Commands.argument("samples", IntegerArgumentType.integer(1_000, SELFTEST_MAX_SAMPLES))
+                                        .executes(ctx -> selfTestIv(
+                                                ctx.getSource(),
+                                                IntegerArgumentType.getInteger(ctx, "samples"))))))
+
                 // /eb admin cache clear
                 .then(Commands.literal("cache")
                         .then(Commands.literal("clear")
@@ -166,6 +190,16 @@ public final class AdminCommand {
                 .withStyle(ChatFormatting.YELLOW)
                 .append(Component.literal(" - Run garbage collection")
                         .withStyle(ChatFormatting.GRAY)), false);
+
+        src.sendSuccess(() -> Component.literal("/eb admin perf [reset]")
+                .withStyle(ChatFormatting.YELLOW)
+                .append(Component.literal(" - Hook latency (p50/p99/max)")
+                        .withStyle(ChatFormatting.GRAY)), false);
+
+        src.sendSuccess(() -> Component.literal("/eb admin selftest iv [samples]")
+                .withStyle(ChatFormatting.YELLOW)
+                .append(Component.literal(" - Verify IV boost distribution")
+                        .withStyle(ChatFormatting.GRAY)), false);
         
         src.sendSuccess(() -> Component.literal("/eb admin cache clear")
                 .withStyle(ChatFormatting.YELLOW)
@@ -574,6 +608,105 @@ public final class AdminCommand {
         return 1;
     }
 
+    // ==================== Hook Performance ====================
+
+    private static int showPerf(CommandSourceStack src) {
+        List<HookMetrics.Snapshot> stats = HookMetrics.snapshot();
+
+        src.sendSuccess(() -> Component.literal("═══════ ")
+                .withStyle(ChatFormatting.GOLD)
+                .append(Component.literal("Hook Performance")
+                        .withStyle(ChatFormatting.YELLOW, ChatFormatting.BOLD))
+                .append(Component.literal(" ═══════")
+                        .withStyle(ChatFormatting.GOLD)), false);
+
+        if (stats.isEmpty()) {
+            src.sendSuccess(() -> Component.literal("No hook calls recorded yet.")
+                    .withStyle(ChatFormatting.GRAY), false);
+            return 1;
+        }
+
+        int pending = DeferredWork.pending();
+        if (pending > 0) {
+            src.sendSuccess(() -> Component.literal("Deferred work queued: " + pending)
+                    .withStyle(ChatFormatting.GRAY), false);
+        }
+
+        src.sendSuccess(() -> Component.literal("hook: calls | p50 / p99 / max | errors")
+                .withStyle(ChatFormatting.DARK_GRAY), false);
+
+        for (HookMetrics.Snapshot s : stats) {
+            src.sendSuccess(() -> Component.literal(s.hook() + ": ")
+                    .withStyle(ChatFormatting.YELLOW)
+                    .append(Component.literal(s.count() + " | ")
+                            .withStyle(ChatFormatting.WHITE))
+                    .append(Component.literal(HookMetrics.Snapshot.micros(s.p50Nanos()) + " / "
+                                    + HookMetrics.Snapshot.micros(s.p99Nanos()) + " / "
+                                    + HookMetrics.Snapshot.micros(s.maxNanos()))
+                            .withStyle(ChatFormatting.AQUA))
+                    .append(Component.literal(" | " + s.errors())
+                            .withStyle(s.errors() > 0 ? ChatFormatting.RED : ChatFormatting.GRAY)), false);
+        }
+
+        return stats.size();
+    }
+
+    private static int resetPerf(CommandSourceStack src) {
+        HookMetrics.reset();
+
+        src.sendSuccess(() -> Component.literal("✓ Hook statistics reset")
+                .withStyle(ChatFormatting.GREEN), false);
+
+        EvolutionBoost.LOGGER.info("[admin] {} reset hook statistics", src.getTextName());
+
+        return 1;
+    }
+
+    // ==================== Self-Test ====================
+
+    /** Obergrenze für /eb admin selftest iv (6 Multiplikatoren × samples Würfe). */
+    private static final int SELFTEST_MAX_SAMPLES = 1_000_000;
+
+    /** Simulation läuft auf einem Worker-Thread, die Ausgabe wieder auf dem Server-Thread. */
+    private static int selfTestIv(CommandSourceStack src, int samples) {
+        double[] multipliers = {1.0, 1.5, 2.0, 4.0, 8.0, 16.0};
+        MinecraftServer server = src.getServer();
+
+        src.sendSuccess(() -> Component.literal("Running IV self-test in the background...")
+                .withStyle(ChatFormatting.GRAY), false);
+
+        CompletableFuture
+                .supplyAsync(() -> IvRollTable.selfTest(multipliers, samples, RandomSource.create()))
+                .whenComplete((results, error) -> server.execute(() -> {
+                    if (error != null) {
+                        EvolutionBoost.LOGGER.error("[admin] IV self-test failed", error);
+                        src.sendFailure(Component.literal("IV self-test failed: " + error.getMessage()));
+                        return;
+                    }
+                    reportSelfTestIv(src, samples, results);
+                }));
+        return 1;
+    }
+
+    private static void reportSelfTestIv(CommandSourceStack src, int samples, List<IvRollTable.Result> results) {
+        src.sendSuccess(() -> Component.literal("IV self-test (" + samples + " stats per multiplier, χ² < 10.83)")
+                .withStyle(ChatFormatting.GOLD), false);
+
+        int passed = 0;
+        for (IvRollTable.Result r : results) {
+            if (r.passed()) passed++;
+            src.sendSuccess(() -> Component.literal((r.passed() ? "✓ " : "✗ ") + "x" + r.multiplier() + ": ")
+                    .withStyle(r.passed() ? ChatFormatting.GREEN : ChatFormatting.RED)
+                    .append(Component.literal(r.observed31() + " perfect, expected "
+                                    + String.format("%.0f", r.expected31()))
+                            .withStyle(ChatFormatting.WHITE))
+                    .append(Component.literal(String.format(" (χ²=%.2f)", r.chiSquare()))
+                            .withStyle(ChatFormatting.GRAY)), false);
+        }
+
+        EvolutionBoost.LOGGER.info("[admin] {} ran IV self-test: {}/{} passed", src.getTextName(), passed, results.size());
+    }
+
     // ==================== Cache Clear ====================
 
     private static int clearCaches(CommandSourceStack src) {
@@ -4,6 +4,7 @@ import com.ichezzy.evolutionboost.boost.ActiveBoost;
 import com.ichezzy.evolutionboost.boost.BoostColors;
 import com.ichezzy.evolutionboost.boost.BoostManager;
 import com.ichezzy.evolutionboost.boost.BoostScope;
+import com.ichezzy.evolutionboost.boost.BoostStats;
 import com.ichezzy.evolutionboost.boost.BoostType;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.DoubleArgumentType;
@@ -36,6 +37,13 @@ public final class BoostCommand {
         var subtree = Commands.literal("boost")
                 .requires(src -> src.hasPermission(2))
 
+                // ================== STATS ==================
+                .then(Commands.literal("stats")
+                        .executes(ctx -> {
+                            showBoostStats(ctx.getSource());
+                            return 1;
+                        }))
+
                 // ================== ADD ==================
                 .then(Commands.literal("add")
                         .then(Commands.literal("global")
@@ -237,6 +245,45 @@ public final class BoostCommand {
                 .withStyle(ChatFormatting.GOLD));
     }
 
+    private static void showBoostStats(CommandSourceStack src) {
+        src.sendSystemMessage(Component.literal("══════ Boost Stats ══════")
+                .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD));
+        src.sendSystemMessage(Component.literal("  since " + BoostStats.since())
+                .withStyle(ChatFormatting.DARK_GRAY));
+
+        var byDim = BoostStats.byDimension();
+        if (byDim.isEmpty()) {
+            src.sendSystemMessage(Component.literal("  No boostable events yet")
+                    .withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC));
+        }
+
+        byDim.forEach((dim, c) -> {
+            src.sendSystemMessage(Component.literal("▸ " + dim).withStyle(ChatFormatting.AQUA));
+            for (BoostType type : BoostType.values()) {
+                long seen = c.seen(type);
+                if (seen == 0) continue;
+
+                String detail = switch (type) {
+                    case SHINY -> seen + " spawns, " + c.boosted(type) + " forced (expected "
+                            + String.format(Locale.ROOT, "%.1f", c.expected(type)) + "), natural expected "
+                            + String.format(Locale.ROOT, "%.1f", c.baseline(type));
+                    case XP -> seen + " events, " + c.boosted(type) + " boosted, +" + c.bonus(type) + " XP";
+                    case EV -> seen + " events, " + c.boosted(type) + " boosted, +" + c.bonus(type) + " EVs";
+                    case IV -> seen + " Pokémon, " + c.boosted(type) + " boosted, " + c.bonus(type) + " perfect IVs";
+                };
+                src.sendSystemMessage(Component.literal("  " + getIcon(type) + " ")
+                        .withStyle(ChatFormatting.GRAY)
+                        .append(Component.literal(type.name())
+                                .withStyle(BoostColors.chatColor(type), ChatFormatting.BOLD))
+                        .append(Component.literal(" " + detail)
+                                .withStyle(ChatFormatting.WHITE)));
+            }
+        });
+
+        src.sendSystemMessage(Component.literal("════════════════════════════")
+                .withStyle(ChatFormatting.GOLD));
+    }
+
     private static String getIcon(BoostType type) {
         return switch (type) {
             case IV -> "💎";
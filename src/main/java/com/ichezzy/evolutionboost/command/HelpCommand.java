@@ -148,6 +148,9 @@ public final class HelpCommand {
             sendCmdDetail(src, "/eb boost clear all", "Clear ALL active boosts");
             sendCmdDetail(src, "/eb boost clear global [type]", "Clear global boosts");
             sendCmdDetail(src, "/eb boost clear dim <dimension> [type]", "Clear dimension multipliers");
+
+            src.sendSuccess(() -> section("Admin - Statistics"), false);
+            sendCmdDetail(src, "/eb boost stats", "Boost counters per dimension since server start");
         }
 
         src.sendSuccess(() -> footer(), false);
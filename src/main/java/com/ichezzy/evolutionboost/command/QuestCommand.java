@@ -1030,6 +1030,20 @@ public final class QuestCommand {
         RandomQuestConfig.reload();
         src.sendSuccess(() -> Component.literal("[Quest] Random quest config reloaded")
                 .withStyle(ChatFormatting.GREEN), false);
+
+        // Story-Quests im Hintergrund neu aufbauen, Rückmeldung wieder auf dem Server-Thread
+        var server = src.getServer();
+        QuestManager.get().reloadQuests().whenComplete((result, error) -> server.execute(() -> {
+            if (error != null) {
+                src.sendFailure(Component.literal("[Quest] Quest reload failed: " + error.getMessage()));
+            } else if (!result.applied()) {
+                src.sendSuccess(() -> Component.literal("[Quest] Reload superseded by a newer quest update, not applied")
+                        .withStyle(ChatFormatting.YELLOW), false);
+            } else {
+                src.sendSuccess(() -> Component.literal("[Quest] Reloaded " + result.quests() + " quests")
+                        .withStyle(ChatFormatting.GREEN), false);
+            }
+        }));
         return 1;
     }
 
@@ -0,0 +1,90 @@
+package com.ichezzy.evolutionboost.compat.cobblemon;
+
+import com.cobblemon.mod.common.api.events.pokemon.ExperienceGainedEvent;
+import com.cobblemon.mod.common.api.pokemon.experience.ExperienceSource;
+import com.cobblemon.mod.common.api.pokemon.stats.Stat;
+import com.cobblemon.mod.common.api.pokemon.stats.Stats;
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.cobblemon.mod.common.pokemon.IVs;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.ichezzy.evolutionboost.EvolutionBoost;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.UUID;
+
+/**
+ * Prüft einmalig (in HooksRegistrar.register), ob die zur Compile-Zeit verwendete
+ * Cobblemon-API (1.6.1) zur Laufzeit wirklich vorhanden ist.
+ *
+ * Passt alles, nutzen die Hooks direkte, statisch typisierte Aufrufe (vom JIT inlinebar,
+ * kein invoke + Boxing). Fehlt eine Methode (andere Cobblemon-Version), bleibt der
+ * jeweilige Hook auf seinem Reflection-Pfad.
+ *
+ * Die Prüfung läuft über MethodHandles.Lookup#findVirtual mit exakt den Deskriptoren,
+ * die javac für die typisierten Aufrufe erzeugt – schlägt sie nicht fehl, linken
+ * auch die Aufrufstellen.
+ */
+final class CobblemonLinkage {
+    private CobblemonLinkage() {}
+
+    /** ShinyHook: PokemonEntity.getPokemon, Pokemon.getShiny/setShiny. */
+    static volatile boolean shiny = false;
+
+    /** IvHook: Pokemon.getIvs/setIV/getOwnerUUID/getEntity, IVs.get, Stats.PERMANENT. */
+    static volatile boolean iv = false;
+
+    /** XpHook: ExperienceGainedEvent.Pre getPokemon/getSource/getExperience/setExperience, Pokemon.getOwnerUUID. */
+    static volatile boolean xp = false;
+
+    static void link() {
+        shiny = validate("shiny", () -> {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            l.findVirtual(PokemonEntity.class, "getPokemon", MethodType.methodType(Pokemon.class));
+            l.findVirtual(Pokemon.class, "getShiny", MethodType.methodType(boolean.class));
+            l.findVirtual(Pokemon.class, "setShiny", MethodType.methodType(void.class, boolean.class));
+        });
+        xp = validate("xp", () -> {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            l.findVirtual(ExperienceGainedEvent.Pre.class, "getPokemon", MethodType.methodType(Pokemon.class));
+            l.findVirtual(ExperienceGainedEvent.Pre.class, "getSource", MethodType.methodType(ExperienceSource.class));
+            l.findVirtual(ExperienceGainedEvent.Pre.class, "getExperience", MethodType.methodType(int.class));
+            l.findVirtual(ExperienceGainedEvent.Pre.class, "setExperience", MethodType.methodType(void.class, int.class));
+            l.findVirtual(Pokemon.class, "getOwnerUUID", MethodType.methodType(UUID.class));
+        });
+        iv = validate("iv", () -> {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            l.findVirtual(Pokemon.class, "getIvs", MethodType.methodType(IVs.class));
+            l.findVirtual(IVs.class, "get", MethodType.methodType(Integer.class, Stat.class));
+            l.findVirtual(Pokemon.class, "setIV", MethodType.methodType(void.class, Stat.class, int.class));
+            l.findVirtual(Pokemon.class, "getOwnerUUID", MethodType.methodType(UUID.class));
+            l.findVirtual(Pokemon.class, "getEntity", MethodType.methodType(PokemonEntity.class));
+            if (Stats.Companion.getPERMANENT().isEmpty()) {
+                throw new IllegalStateException("Stats.PERMANENT is empty");
+            }
+        });
+    }
+
+    /** Wird von den Hooks aufgerufen, wenn ein typisierter Aufruf trotz Prüfung nicht linkt. */
+    static void demote(String hook, Throwable cause) {
+        if ("shiny".equals(hook)) shiny = false;
+        if ("iv".equals(hook)) iv = false;
+        if ("xp".equals(hook)) xp = false;
+        EvolutionBoost.LOGGER.warn("[compat][{}] typed path failed ({}), falling back to reflection.", hook, cause.toString());
+    }
+
+    private interface Check {
+        void run() throws Throwable;
+    }
+
+    private static boolean validate(String hook, Check check) {
+        try {
+            check.run();
+            EvolutionBoost.LOGGER.info("[compat][{}] linked typed Cobblemon path.", hook);
+            return true;
+        } catch (Throwable t) {
+            EvolutionBoost.LOGGER.info("[compat][{}] typed Cobblemon path unavailable ({}), using reflection.", hook, t.toString());
+            return false;
+        }
+    }
+}
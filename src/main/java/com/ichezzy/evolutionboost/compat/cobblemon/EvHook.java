@@ -2,9 +2,12 @@ package com.ichezzy.evolutionboost.compat.cobblemon;
 
 import com.cobblemon.mod.common.api.Priority;
 import com.ichezzy.evolutionboost.EvolutionBoost;
-import com.ichezzy.evolutionboost.boost.BoostManager;
+import com.ichezzy.evolutionboost.boost.BoostStats;
+import com.ichezzy.evolutionboost.boost.EffectiveMultiplierCache;
 import com.ichezzy.evolutionboost.boost.BoostType;
 import com.ichezzy.evolutionboost.configs.DebugConfig;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
 import net.minecraft.resources.ResourceKey;
@@ -16,6 +19,7 @@ import net.minecraft.world.level.Level;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.UUID;
+import java.util.function.ObjIntConsumer;
 
 /**
  * EV-Hook:
@@ -29,6 +33,8 @@ public final class EvHook {
 
     private EvHook() {}
 
+    private static final HookErrors.Channel ERRORS = HookErrors.channel("ev", "[compat][ev] error in ev handler");
+
     /**
      * Alte Signatur für HooksRegistrar – clsEvents/priority werden nicht mehr benötigt.
      */
@@ -59,20 +65,18 @@ public final class EvHook {
             }
 
             // Handler registrieren
-            subscribeMethod.invoke(eventObservable, Priority.NORMAL, new Function1<Object, Unit>() {
+            subscribeMethod.invoke(eventObservable, Priority.NORMAL, HookMetrics.timed("ev", new Function1<Object, Unit>() {
                 @Override
                 public Unit invoke(Object ev) {
+                    if (ERRORS.disabled()) return Unit.INSTANCE;
                     try {
                         handleEvGain(server, ev);
                     } catch (Throwable t) {
-                        EvolutionBoost.LOGGER.warn(
-                                "[compat][ev] error in ev handler: {}",
-                                t.toString()
-                        );
+                        if (ERRORS.report(t)) ERRORS.disable(t);
                     }
                     return Unit.INSTANCE;
                 }
-            });
+            }));
 
             EvolutionBoost.LOGGER.info("[compat][ev] EV_GAINED_EVENT_PRE hook registered.");
 
@@ -104,12 +108,19 @@ public final class EvHook {
         // --- 3) Source aus Event holen ---
         Object source = invokeNoArg(ev, "getSource", "source");
 
-        // --- 4) Dimension ermitteln ---
-        ResourceKey<Level> dimKey = extractDimension(ev, source, server);
+        // --- 4) Spieler + Dimension ermitteln ---
+        Object pokemon = invokeNoArg(ev, "getPokemon", "pokemon");
+        if (pokemon == null && source != null) {
+            pokemon = invokeNoArg(source, "getPokemon", "pokemon");
+        }
+        ServerPlayer owner = extractOwner(pokemon, server);
+        ServerPlayer sourcePlayer = owner == null ? extractSourcePlayer(source) : null;
+        ServerPlayer player = owner != null ? owner : sourcePlayer; // Cache-Schlüssel
+        ResourceKey<Level> dimKey = extractDimension(owner, pokemon, sourcePlayer);
+        BoostStats.seen(BoostType.EV, dimKey);
 
-        // --- 5) Multiplier bestimmen (GLOBAL × DIMENSION) ---
-        BoostManager bm = BoostManager.get(server);
-        double mult = bm.getMultiplierFor(BoostType.EV, null, dimKey);
+        // --- 5) Multiplier bestimmen (GLOBAL × DIMENSION, max. 1× pro Tick und Spieler) ---
+        double mult = EffectiveMultiplierCache.get(server, player, BoostType.EV, dimKey);
 
         if (DebugConfig.get().debugEvHook) {
             EvolutionBoost.LOGGER.info(
@@ -134,6 +145,7 @@ public final class EvHook {
             EvolutionBoost.LOGGER.warn("[compat][ev] Could not set boosted EV amount");
             return;
         }
+        BoostStats.boosted(BoostType.EV, dimKey, boosted - baseAmount);
 
         if (DebugConfig.get().logBoostApplications) {
             EvolutionBoost.LOGGER.info(
@@ -143,43 +155,41 @@ public final class EvHook {
         }
     }
 
+    /** Online-Owner des Pokemon (oder null). */
+    private static ServerPlayer extractOwner(Object pokemon, MinecraftServer server) {
+        UUID ownerUuid = extractOwnerUuid(pokemon);
+        return ownerUuid != null ? server.getPlayerList().getPlayer(ownerUuid) : null;
+    }
+
+    /** Player direkt aus der Source (ItemEvSource hat player). */
+    private static ServerPlayer extractSourcePlayer(Object source) {
+        if (source == null) return null;
+        return invokeNoArg(source, "getPlayer", "player") instanceof ServerPlayer sp ? sp : null;
+    }
+
     /**
-     * Versucht die Dimension aus dem Event/Source zu ermitteln.
+     * Versucht die Dimension zu ermitteln:
+     * 1. Owner -> Player -> Dimension
+     * 2. Entity aus Pokemon (falls in Welt)
+     * 3. Player aus der Source
      * Fallback: Overworld
      */
-    private static ResourceKey<Level> extractDimension(Object ev, Object source, MinecraftServer server) {
-        // 1) Versuche Pokemon aus Event oder Source zu holen
-        Object pokemon = invokeNoArg(ev, "getPokemon", "pokemon");
-        if (pokemon == null && source != null) {
-            pokemon = invokeNoArg(source, "getPokemon", "pokemon");
+    private static ResourceKey<Level> extractDimension(ServerPlayer owner, Object pokemon, ServerPlayer sourcePlayer) {
+        if (owner != null) {
+            return owner.serverLevel().dimension();
         }
 
         if (pokemon != null) {
-            // Owner UUID aus Pokemon -> Player -> Dimension
-            UUID ownerUuid = extractOwnerUuid(pokemon);
-            if (ownerUuid != null) {
-                ServerPlayer player = server.getPlayerList().getPlayer(ownerUuid);
-                if (player != null) {
-                    return player.serverLevel().dimension();
-                }
-            }
-
-            // Entity aus Pokemon (falls in Welt)
             Object entity = invokeNoArg(pokemon, "getEntity", "entity");
             if (entity instanceof net.minecraft.world.entity.Entity e && e.level() instanceof ServerLevel sl) {
                 return sl.dimension();
             }
         }
 
-        // 2) Versuche Player direkt aus Source zu holen (ItemEvSource hat player)
-        if (source != null) {
-            Object playerObj = invokeNoArg(source, "getPlayer", "player");
-            if (playerObj instanceof ServerPlayer sp) {
-                return sp.serverLevel().dimension();
-            }
+        if (sourcePlayer != null) {
+            return sourcePlayer.serverLevel().dimension();
         }
 
-        // 3) Fallback: Overworld
         return Level.OVERWORLD;
     }
 
@@ -188,42 +198,20 @@ public final class EvHook {
     /* ------------------------------------------------------------------ */
 
     private static Object invokeNoArg(Object target, String... methodNames) {
-        if (target == null) return null;
-        for (String n : methodNames) {
-            try {
-                Method m = findMethod(target.getClass(), n);
-                if (m != null) {
-                    Object res = m.invoke(target);
-                    if (res != null) return res;
-                }
-            } catch (Throwable ignored) {}
-        }
-        return null;
+        return ReflectUtils.invokeFirst(target, methodNames);
     }
 
     private static Integer readInt(Object target, String... methodNames) {
-        if (target == null) return null;
-        for (String n : methodNames) {
-            try {
-                Method m = findMethod(target.getClass(), n);
-                if (m != null) {
-                    Object v = m.invoke(target);
-                    if (v instanceof Number num) {
-                        return num.intValue();
-                    }
-                }
-            } catch (Throwable ignored) {}
-        }
-        return null;
+        return ReflectUtils.readInt(target, methodNames);
     }
 
     private static boolean writeInt(Object target, int value, String... methodNames) {
         if (target == null) return false;
         for (String n : methodNames) {
             try {
-                Method m = findMethod(target.getClass(), n, int.class);
-                if (m != null) {
-                    m.invoke(target, value);
+                ObjIntConsumer<Object> setter = ReflectUtils.intSetter(target.getClass(), n);
+                if (setter != null) {
+                    setter.accept(target, value);
                     return true;
                 }
             } catch (Throwable ignored) {}
@@ -235,53 +223,6 @@ public final class EvHook {
         if (pokemon == null) return null;
 
         String[] methodNames = {"getOwnerUUID", "getOwnerUuid", "getOwnerId", "ownerUUID"};
-        for (String name : methodNames) {
-            try {
-                Method m = findMethod(pokemon.getClass(), name);
-                if (m != null) {
-                    Object o = m.invoke(pokemon);
-                    if (o instanceof UUID u) {
-                        return u;
-                    }
-                }
-            } catch (Throwable ignored) {}
-        }
-        return null;
-    }
-
-    /**
-     * Findet eine Methode in der Klasse oder deren Superklassen/Interfaces.
-     */
-    private static Method findMethod(Class<?> clazz, String name, Class<?>... paramTypes) {
-        if (clazz == null) return null;
-
-        // Direkt in der Klasse suchen
-        try {
-            Method m = clazz.getMethod(name, paramTypes);
-            m.setAccessible(true);
-            return m;
-        } catch (NoSuchMethodException ignored) {}
-
-        // In deklarierten Methoden suchen (auch private)
-        try {
-            Method m = clazz.getDeclaredMethod(name, paramTypes);
-            m.setAccessible(true);
-            return m;
-        } catch (NoSuchMethodException ignored) {}
-
-        // Rekursiv in Superklasse suchen
-        Class<?> superClass = clazz.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            Method m = findMethod(superClass, name, paramTypes);
-            if (m != null) return m;
-        }
-
-        // In Interfaces suchen
-        for (Class<?> iface : clazz.getInterfaces()) {
-            Method m = findMethod(iface, name, paramTypes);
-            if (m != null) return m;
-        }
-
-        return null;
+        return ReflectUtils.invokeFirst(pokemon, methodNames) instanceof UUID u ? u : null;
     }
-}
\ No newline at end of file
+}
@@ -18,6 +18,9 @@ public final class HooksRegistrar {
                 PRIORITY_NORMAL = prio.getEnumConstants()[0]; // meist "NORMAL"
             } catch (ClassNotFoundException ignore) { PRIORITY_NORMAL = null; }
 
+            // Typisierte Cobblemon-Pfade einmalig prüfen (sonst Reflection-Fallback)
+            CobblemonLinkage.link();
+
             // XP
             XpHook.register(server, COBBLEMON_EVENTS, PRIORITY_NORMAL);
             // SHINY
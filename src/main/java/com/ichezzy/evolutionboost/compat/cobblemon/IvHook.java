@@ -2,27 +2,36 @@ package com.ichezzy.evolutionboost.compat.cobblemon;
 
 import com.cobblemon.mod.common.api.Priority;
 import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.api.pokemon.stats.Stat;
+import com.cobblemon.mod.common.api.pokemon.stats.Stats;
+import com.cobblemon.mod.common.pokemon.IVs;
+import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.boost.BoostManager;
+import com.ichezzy.evolutionboost.boost.BoostStats;
+import com.ichezzy.evolutionboost.boost.EffectiveMultiplierCache;
 import com.ichezzy.evolutionboost.boost.BoostType;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
  * IV-Hook:
  * - hängt an CobblemonEvents.POKEMON_GAINED
  * - erhöht die Chance auf perfekte IVs (31) pro Stat je nach BoostType.IV
+ * - typisierter Cobblemon-Pfad, falls CobblemonLinkage ihn validiert hat; sonst Reflection
  *
  * Idee:
  *   Basis: jeder Stat hat ~1/32 Chance auf 31 (uniform 0..31).
@@ -30,13 +39,20 @@ import java.util.UUID;
  *   Dazu:
  *     - Spiel rollt IVs normal.
  *     - Wenn Stat != 31, upgraden wir mit Zusatz-Chance delta.
- *     - delta wird so berechnet, dass P(perfect) ≈ M * (1/32) wird.
+ *     - delta wird so berechnet, dass P(perfect) ≈ M * (1/32) wird (vorberechnet in IvRollTable).
+ *     - ein Wurf pro Stat über die RandomSource der Dimension.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public final class IvHook {
 
     private IvHook() {}
 
+    private static final HookErrors.Channel ERRORS = HookErrors.channel("iv", "[compat][iv] error in iv handler");
+
+    /** Permanente Stats als Array (einmalig aus Stats.PERMANENT bzw. per Reflection ermittelt). */
+    private static Stat[] permanentStats;
+    private static Object[] reflectivePermanentStats;
+
     /**
      * Alte Signatur für HooksRegistrar – clsEvents/priority werden nicht mehr benötigt.
      */
@@ -48,20 +64,22 @@ public final class IvHook {
     private static void register(MinecraftServer server) {
         CobblemonEvents.POKEMON_GAINED.subscribe(
                 Priority.NORMAL,
-                new Function1<Object, Unit>() {
+                HookMetrics.timed("iv", new Function1<Object, Unit>() {
                     @Override
                     public Unit invoke(Object ev) {
+                        if (ERRORS.disabled()) return Unit.INSTANCE;
                         try {
                             handleIv(server, ev);
                         } catch (Throwable t) {
-                            EvolutionBoost.LOGGER.warn(
-                                    "[compat][iv] error in iv handler: {}",
-                                    t.toString()
-                            );
+                            if (ERRORS.report(t)) {
+                                // erst typisierten Pfad abschalten, beim nächsten Mal den Hook
+                                if (CobblemonLinkage.iv) CobblemonLinkage.demote("iv", t);
+                                else ERRORS.disable(t);
+                            }
                         }
                         return Unit.INSTANCE;
                     }
-                }
+                })
         );
 
         EvolutionBoost.LOGGER.info("[compat][iv] POKEMON_GAINED hook registered.");
@@ -82,102 +100,156 @@ public final class IvHook {
             return;
         }
 
-        // --- 2) Dimension ermitteln (mehrere Fallbacks) ---
-        ResourceKey<Level> dimKey = extractDimension(ev, pokemon, server);
-
-        // --- 3) Multiplier bestimmen (GLOBAL × DIMENSION) ---
-        BoostManager bm = BoostManager.get(server);
-        double mult = bm.getMultiplierFor(BoostType.IV, null, dimKey);
+        // --- 2) Spieler + Dimension ermitteln (mehrere Fallbacks) ---
+        ServerPlayer eventPlayer = extractEventPlayer(ev, server);
+        ServerPlayer owner = eventPlayer == null ? extractOwner(pokemon, server) : null;
+        ServerPlayer player = eventPlayer != null ? eventPlayer : owner; // Cache-Schlüssel
+        ResourceKey<Level> dimKey = extractDimension(eventPlayer, pokemon, owner);
+        BoostStats.seen(BoostType.IV, dimKey);
 
+        // --- 3) Multiplier bestimmen (GLOBAL × DIMENSION, max. 1× pro Tick und Spieler) ---
+        double mult = EffectiveMultiplierCache.get(server, player, BoostType.IV, dimKey);
         if (mult <= 1.0) {
             // kein IV-Boost aktiv
             return;
         }
 
-        // Optionale Obergrenze, falls jemand 100x IV eingibt
-        if (mult > 16.0) {
-            mult = 16.0;
-        }
-
-        // --- 4) Zusatz-Chance delta berechnen ---
-        // Basis: uniform 0..31 => P(31) = 1/32
-        double baseP = 1.0 / 32.0;
-        double targetP = Math.min(1.0, mult * baseP);
-
-        if (targetP <= baseP + 1e-9) {
-            // effektiver Multiplier zu klein, um sinnvoll etwas zu machen
-            return;
-        }
-
-        double delta = (targetP - baseP) / (1.0 - baseP);
+        // --- 4) Upgrade-Chance pro Stat (vorberechnet pro Multiplikator, Cap bei 16x) ---
+        double delta = IvRollTable.delta(mult, BoostManager.get(server).multiplierVersion());
         if (delta <= 0.0) {
             return;
         }
 
-        // --- 5) Reflektion: IVs-Objekt + Methoden ---
-        Class<?> pokemonClass = pokemon.getClass();
-        Method getIvsMethod = pokemonClass.getMethod("getIvs");
-        Object ivs = getIvsMethod.invoke(pokemon);
-        if (ivs == null) {
-            return;
+        // --- 5) IVs hochziehen: typisiert, sonst Reflection ---
+        RandomSource random = levelRandom(server, dimKey);
+        int upgraded = -1;
+        if (CobblemonLinkage.iv && pokemon instanceof Pokemon typedPokemon) {
+            try {
+                upgraded = applyTyped(typedPokemon, delta, random);
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("iv", e);
+            }
+        }
+        if (upgraded < 0) {
+            upgraded = applyReflective(pokemon, delta, random);
         }
+        if (upgraded > 0) {
+            BoostStats.boosted(BoostType.IV, dimKey, upgraded);
+        }
+    }
 
-        Class<?> statClass = Class.forName("com.cobblemon.mod.common.api.pokemon.stats.Stat");
-        Method ivsGet = ivs.getClass().getMethod("get", statClass);
-        Method setIvMethod = pokemonClass.getMethod("setIV", statClass, int.class);
+    /** RandomSource der Dimension (Server-Thread), Fallback Overworld. */
+    private static RandomSource levelRandom(MinecraftServer server, ResourceKey<Level> dimKey) {
+        ServerLevel level = server.getLevel(dimKey);
+        return (level != null ? level : server.overworld()).getRandom();
+    }
 
-        // --- 6) Stats-Enum (HP, ATTACK, DEFENCE, SPECIAL_ATTACK, SPECIAL_DEFENCE, SPEED) ---
-        Class<?> statsEnum = Class.forName("com.cobblemon.mod.common.api.pokemon.stats.Stats");
-        Object[] allStats = statsEnum.getEnumConstants();
-        if (allStats == null || allStats.length == 0) {
-            return;
+    /** Direkter Pfad gegen die Cobblemon-API (in CobblemonLinkage geprüft). Liefert die Anzahl Upgrades. */
+    private static int applyTyped(Pokemon pokemon, double delta, RandomSource random) {
+        Stat[] stats = permanentStats;
+        if (stats == null) {
+            stats = permanentStats = Stats.Companion.getPERMANENT().toArray(new Stat[0]);
         }
 
-        List<Object> permanentStats = new ArrayList<>();
-        for (Object s : allStats) {
-            if (!(s instanceof Enum<?> e)) continue;
-            String name = e.name();
-            // EVASION/ACCURACY sind Battle-only und haben keine IVs
-            if ("EVASION".equals(name) || "ACCURACY".equals(name)) {
+        IVs ivs = pokemon.getIvs();
+        int upgraded = 0;
+        for (Stat stat : stats) {
+            Integer current = ivs.get(stat);
+            // fehlend oder bereits perfekt? Dann nicht anfassen.
+            if (current == null || current >= IvRollTable.MAX_IV) {
                 continue;
             }
-            permanentStats.add(s);
+            if (IvRollTable.roll(current, delta, random) == IvRollTable.MAX_IV) {
+                pokemon.setIV(stat, IvRollTable.MAX_IV);
+                upgraded++;
+            }
         }
+        return upgraded;
+    }
 
-        if (permanentStats.isEmpty()) {
-            return;
+    /** Reflection-Fallback für andere Cobblemon-Versionen. Liefert die Anzahl Upgrades. */
+    private static int applyReflective(Object pokemon, double delta, RandomSource random) throws Exception {
+        // --- 5) Reflektion: IVs-Objekt + Methoden ---
+        Object ivs = ReflectUtils.invokeFirst(pokemon, "getIvs");
+        if (ivs == null) {
+            return 0;
+        }
+
+        Class<?> statClass = Class.forName("com.cobblemon.mod.common.api.pokemon.stats.Stat");
+        Method ivsGet = ReflectUtils.find(ivs.getClass(), "get", statClass);
+        Method setIvMethod = ReflectUtils.find(pokemon.getClass(), "setIV", statClass, int.class);
+        if (ivsGet == null || setIvMethod == null) {
+            return 0;
         }
 
-        // Random-Quelle
-        java.util.Random rand = new java.util.Random();
+        // --- 6) Stats-Enum (HP, ATTACK, DEFENCE, SPECIAL_ATTACK, SPECIAL_DEFENCE, SPEED) ---
+        Object[] stats = reflectivePermanentStats;
+        if (stats == null) {
+            stats = reflectivePermanentStats = loadReflectiveStats();
+        }
 
         // --- 7) Pro Stat: ggf. IV auf 31 hochziehen ---
-        for (Object stat : permanentStats) {
+        int upgraded = 0;
+        for (Object stat : stats) {
             try {
-                Object currentObj = ivsGet.invoke(ivs, stat);
-                if (!(currentObj instanceof Number num)) {
+                if (!(ivsGet.invoke(ivs, stat) instanceof Number num)) {
                     continue;
                 }
                 int current = num.intValue();
 
                 // Bereits perfekt? Dann nicht anfassen.
-                if (current >= 31) {
+                if (current >= IvRollTable.MAX_IV) {
                     continue;
                 }
 
-                if (rand.nextDouble() < delta) {
-                    setIvMethod.invoke(pokemon, stat, 31);
+                if (IvRollTable.roll(current, delta, random) == IvRollTable.MAX_IV) {
+                    setIvMethod.invoke(pokemon, stat, IvRollTable.MAX_IV);
+                    upgraded++;
                 }
             } catch (Throwable inner) {
                 // pro Stat loggen wir nichts, um Spam zu vermeiden, nur weiter zum nächsten
             }
         }
+        return upgraded;
+    }
+
+    private static Object[] loadReflectiveStats() throws ClassNotFoundException {
+        Class<?> statsEnum = Class.forName("com.cobblemon.mod.common.api.pokemon.stats.Stats");
+        Object[] allStats = statsEnum.getEnumConstants();
+        if (allStats == null) {
+            return new Object[0];
+        }
+
+        int n = 0;
+        Object[] permanent = new Object[allStats.length];
+        for (Object s : allStats) {
+            if (!(s instanceof Enum<?> e)) continue;
+            String name = e.name();
+            // EVASION/ACCURACY sind Battle-only und haben keine IVs
+            if ("EVASION".equals(name) || "ACCURACY".equals(name)) {
+                continue;
+            }
+            permanent[n++] = s;
+        }
+        return Arrays.copyOf(permanent, n);
     }
 
     /* ------------------------------------------------------------------ */
     /* Dimension-Extraktion mit mehreren Fallbacks                        */
     /* ------------------------------------------------------------------ */
 
+    /** Online-Spieler zur Player-ID aus dem Event (oder null). */
+    private static ServerPlayer extractEventPlayer(Object ev, MinecraftServer server) {
+        UUID playerId = extractPlayerId(ev);
+        return playerId != null ? server.getPlayerList().getPlayer(playerId) : null;
+    }
+
+    /** Online-Owner des Pokemon (oder null). */
+    private static ServerPlayer extractOwner(Object pokemon, MinecraftServer server) {
+        UUID ownerUuid = extractOwnerUuid(pokemon);
+        return ownerUuid != null ? server.getPlayerList().getPlayer(ownerUuid) : null;
+    }
+
     /**
      * Versucht die Dimension aus verschiedenen Quellen zu ermitteln:
      * 1. Player aus Event -> Player.serverLevel()
@@ -186,14 +258,10 @@ public final class IvHook {
      *
      * Gibt niemals null zurück - im schlimmsten Fall Overworld.
      */
-    private static ResourceKey<Level> extractDimension(Object ev, Object pokemon, MinecraftServer server) {
-        // 1) Versuche Player aus Event
-        UUID playerId = extractPlayerId(ev);
-        if (playerId != null) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
-            if (player != null) {
-                return player.serverLevel().dimension();
-            }
+    private static ResourceKey<Level> extractDimension(ServerPlayer eventPlayer, Object pokemon, ServerPlayer owner) {
+        // 1) Player aus Event
+        if (eventPlayer != null) {
+            return eventPlayer.serverLevel().dimension();
         }
 
         // 2) Versuche Entity aus Pokemon zu holen (falls Pokemon in der Welt ist)
@@ -202,13 +270,9 @@ public final class IvHook {
             return sl.dimension();
         }
 
-        // 3) Versuche Owner-UUID aus Pokemon -> Player
-        UUID ownerUuid = extractOwnerUuid(pokemon);
-        if (ownerUuid != null) {
-            ServerPlayer owner = server.getPlayerList().getPlayer(ownerUuid);
-            if (owner != null) {
-                return owner.serverLevel().dimension();
-            }
+        // 3) Owner -> Player
+        if (owner != null) {
+            return owner.serverLevel().dimension();
         }
 
         // 4) Fallback: Overworld
@@ -220,22 +284,12 @@ public final class IvHook {
     /* ------------------------------------------------------------------ */
 
     private static UUID extractPlayerId(Object ev) {
-        try {
-            Method m = ev.getClass().getMethod("getPlayerId");
-            Object o = m.invoke(ev);
-            if (o instanceof UUID u) {
-                return u;
-            }
-        } catch (Throwable ignored) {}
-        return null;
+        return ReflectUtils.invokeFirst(ev, "getPlayerId") instanceof UUID u ? u : null;
     }
 
     private static Object extractPokemon(Object ev) {
-        try {
-            Method m = ev.getClass().getMethod("getPokemon");
-            return m.invoke(ev);
-        } catch (Throwable ignored) {}
-        return null;
+        // Event-Klasse ist nicht Teil der typisierten API -> gecachter Accessor
+        return ReflectUtils.invokeFirst(ev, "getPokemon");
     }
 
     /**
@@ -245,17 +299,14 @@ public final class IvHook {
     private static Entity extractEntityFromPokemon(Object pokemon) {
         if (pokemon == null) return null;
 
-        String[] methodNames = {"getEntity", "entity"};
-        for (String name : methodNames) {
+        if (CobblemonLinkage.iv && pokemon instanceof Pokemon p) {
             try {
-                Method m = pokemon.getClass().getMethod(name);
-                Object o = m.invoke(pokemon);
-                if (o instanceof Entity e) {
-                    return e;
-                }
-            } catch (Throwable ignored) {}
+                return p.getEntity();
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("iv", e);
+            }
         }
-        return null;
+        return ReflectUtils.invokeFirst(pokemon, "getEntity", "entity") instanceof Entity e ? e : null;
     }
 
     /**
@@ -264,16 +315,14 @@ public final class IvHook {
     private static UUID extractOwnerUuid(Object pokemon) {
         if (pokemon == null) return null;
 
-        String[] methodNames = {"getOwnerUUID", "getOwnerUuid", "getOwnerId", "ownerUUID"};
-        for (String name : methodNames) {
+        if (CobblemonLinkage.iv && pokemon instanceof Pokemon p) {
             try {
-                Method m = pokemon.getClass().getMethod(name);
-                Object o = m.invoke(pokemon);
-                if (o instanceof UUID u) {
-                    return u;
-                }
-            } catch (Throwable ignored) {}
+                return p.getOwnerUUID();
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("iv", e);
+            }
         }
-        return null;
+        String[] methodNames = {"getOwnerUUID", "getOwnerUuid", "getOwnerId", "ownerUUID"};
+        return ReflectUtils.invokeFirst(pokemon, methodNames) instanceof UUID u ? u : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.ichezzy.evolutionboost.compat.cobblemon;
+
+import net.minecraft.util.RandomSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vorberechnete Upgrade-Wahrscheinlichkeiten für den IV-Boost.
+ *
+ * Basis: IV uniform 0..31 => P(31) = 1/32. Mit Multiplikator M soll P(31) = min(1, M/32) sein.
+ * Jeder Stat unter 31 wird daher mit
+ *   delta = (M/32 - 1/32) / (1 - 1/32)
+ * auf 31 gezogen. Das zuletzt berechnete (Version, Multiplikator, delta) wird in einem
+ * unveränderlichen Holder gemerkt – im Normalfall (gleicher Boost) ein Feldvergleich ohne
+ * Boxing oder Map-Lookup.
+ *
+ * {@link #selfTest} prüft die Verteilung per Chi-Quadrat-Test (/eb admin selftest iv).
+ */
+public final class IvRollTable {
+
+    static final int MAX_IV = 31;
+
+    /** Obergrenze, falls jemand 100x IV eingibt. */
+    static final double MAX_MULTIPLIER = 16.0;
+
+    private static final double BASE_P = 1.0 / 32.0;
+
+    /** Kritischer Wert Chi² (1 Freiheitsgrad, alpha = 0.001). */
+    private static final double CHI2_CRITICAL = 10.828;
+
+    /** Zuletzt berechnetes delta; wird als Ganzes ersetzt (volatile, daher threadsicher). */
+    private record Cached(long version, double mult, double delta) {}
+
+    private static volatile Cached last = new Cached(Long.MIN_VALUE, Double.NaN, 0.0);
+
+    private IvRollTable() {}
+
+    /**
+     * Upgrade-Wahrscheinlichkeit pro Stat für den Multiplikator {@code mult} (0 = kein Effekt).
+     * {@code boostVersion} = BoostManager.multiplierVersion(); bei Änderung wird neu gerechnet.
+     */
+    static double delta(double mult, long boostVersion) {
+        Cached c = last;
+        if (c.version() == boostVersion && c.mult() == mult) {
+            return c.delta();
+        }
+        double d = computeDelta(mult);
+        last = new Cached(boostVersion, mult, d);
+        return d;
+    }
+
+    private static double computeDelta(double mult) {
+        if (mult <= 1.0) return 0.0;
+        double targetP = Math.min(1.0, Math.min(mult, MAX_MULTIPLIER) * BASE_P);
+        if (targetP <= BASE_P + 1e-9) return 0.0;
+        return (targetP - BASE_P) / (1.0 - BASE_P);
+    }
+
+    /** Ein Wurf: IV nach Boost (unverändert oder 31). */
+    static int roll(int current, double delta, RandomSource random) {
+        if (current >= MAX_IV) return current;
+        return random.nextDouble() < delta ? MAX_IV : current;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Selbsttest                                                         */
+    /* ------------------------------------------------------------------ */
+
+    public record Result(double multiplier, int samples, long observed31, double expected31,
+                         double chiSquare, boolean passed) {}
+
+    /**
+     * Simuliert {@code samples} Stats (uniform 0..31, dann Boost) für jeden Multiplikator und
+     * vergleicht die Anzahl 31er mit dem Erwartungswert samples × min(1, M/32).
+     */
+    public static List<Result> selfTest(double[] multipliers, int samples, RandomSource random) {
+        List<Result> results = new ArrayList<>(multipliers.length);
+        for (double m : multipliers) {
+            double d = computeDelta(m);
+            long hits = 0;
+            for (int i = 0; i < samples; i++) {
+                if (roll(random.nextInt(MAX_IV + 1), d, random) == MAX_IV) hits++;
+            }
+
+            double p = Math.min(1.0, Math.max(1.0, Math.min(m, MAX_MULTIPLIER)) * BASE_P);
+            double e1 = samples * p;
+            double e0 = samples - e1; // > 0, da M auf 16 begrenzt ist
+            long misses = samples - hits;
+            double chi2 = (hits - e1) * (hits - e1) / e1 + (misses - e0) * (misses - e0) / e0;
+
+            results.add(new Result(m, samples, hits, e1, chi2, chi2 < CHI2_CRITICAL));
+        }
+        return results;
+    }
+}
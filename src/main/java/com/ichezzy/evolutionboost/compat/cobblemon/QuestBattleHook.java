@@ -12,11 +12,13 @@ import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.quest.QuestManager;
 import com.ichezzy.evolutionboost.quest.QuestType;
+import com.ichezzy.evolutionboost.util.DeferredWork;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import net.minecraft.server.level.ServerPlayer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 /**
  * Hook für Cobblemon Battle Events.
@@ -25,12 +27,17 @@ import java.util.List;
 public final class QuestBattleHook {
     private QuestBattleHook() {}
 
+    private static final HookErrors.Channel FAINTED_ERRORS =
+            HookErrors.channel("quest-fainted", "[quests] Error in onBattleFainted", true);
+    private static final HookErrors.Channel VICTORY_ERRORS =
+            HookErrors.channel("quest-victory", "[quests] Error in onBattleVictory", true);
+
     public static void register() {
         // Battle Fainted Event - für DEFEAT Objectives
-        CobblemonEvents.BATTLE_FAINTED.subscribe(Priority.NORMAL, QuestBattleHook::onBattleFainted);
+        CobblemonEvents.BATTLE_FAINTED.subscribe(Priority.NORMAL, HookMetrics.timed("quest-fainted", QuestBattleHook::onBattleFainted));
 
         // Battle Victory Event - für BATTLE Objectives (Battle abgeschlossen)
-        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, QuestBattleHook::onBattleVictory);
+        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, HookMetrics.timed("quest-victory", QuestBattleHook::onBattleVictory));
 
         EvolutionBoost.LOGGER.info("[quests] QuestBattleHook registered.");
     }
@@ -61,24 +68,23 @@ public final class QuestBattleHook {
                     if (player == null) continue;
 
                     // Pokemon-Info extrahieren
-                    String species = faintedPokemon.getSpecies().getName().toLowerCase();
-                    String primaryType = faintedPokemon.getPrimaryType().getName().toLowerCase();
-                    String secondaryType = faintedPokemon.getSecondaryType() != null
-                            ? faintedPokemon.getSecondaryType().getName().toLowerCase()
-                            : null;
+                    String species = QuestPokemonKeys.species(faintedPokemon);
+                    String primaryType = QuestPokemonKeys.primaryType(faintedPokemon);
+                    String secondaryType = QuestPokemonKeys.secondaryType(faintedPokemon);
                     int level = faintedPokemon.getLevel();
                     boolean shiny = faintedPokemon.getShiny();
-                    List<String> aspects = new ArrayList<>(faintedPokemon.getAspects());
+                    Set<String> aspects = QuestPokemonKeys.aspects(faintedPokemon);
 
                     // Fortschritt für DEFEAT-Objectives
-                    QuestManager.get().processProgress(player, QuestType.DEFEAT,
-                            obj -> obj.matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
-                            1);
+                    DeferredWork.submit(() -> QuestManager.get().processProgress(player, QuestType.DEFEAT,
+                            species, primaryType, secondaryType,
+                            obj -> obj.getMatcher().matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
+                            1));
                 }
             }
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[quests] Error in onBattleFainted: {}", e.getMessage());
+            FAINTED_ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
@@ -108,24 +114,23 @@ public final class QuestBattleHook {
                         Pokemon pokemon = battlePokemon.getOriginalPokemon();
                         if (pokemon == null) continue;
 
-                        String species = pokemon.getSpecies().getName().toLowerCase();
-                        String primaryType = pokemon.getPrimaryType().getName().toLowerCase();
-                        String secondaryType = pokemon.getSecondaryType() != null
-                                ? pokemon.getSecondaryType().getName().toLowerCase()
-                                : null;
+                        String species = QuestPokemonKeys.species(pokemon);
+                        String primaryType = QuestPokemonKeys.primaryType(pokemon);
+                        String secondaryType = QuestPokemonKeys.secondaryType(pokemon);
                         int level = pokemon.getLevel();
                         boolean shiny = pokemon.getShiny();
-                        List<String> aspects = new ArrayList<>(pokemon.getAspects());
+                        Set<String> aspects = QuestPokemonKeys.aspects(pokemon);
 
                         // Fortschritt für BATTLE-Objectives (battle = jedes Pokemon im Battle)
-                        QuestManager.get().processProgress(player, QuestType.BATTLE,
-                                obj -> obj.matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
-                                1);
+                        DeferredWork.submit(() -> QuestManager.get().processProgress(player, QuestType.BATTLE,
+                                species, primaryType, secondaryType,
+                                obj -> obj.getMatcher().matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
+                                1));
                     }
                 }
             }
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[quests] Error in onBattleVictory: {}", e.getMessage());
+            VICTORY_ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
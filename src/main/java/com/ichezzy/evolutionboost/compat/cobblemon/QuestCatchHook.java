@@ -9,11 +9,13 @@ import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.quest.QuestManager;
 import com.ichezzy.evolutionboost.quest.QuestType;
+import com.ichezzy.evolutionboost.util.DeferredWork;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import net.minecraft.server.level.ServerPlayer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 /**
  * Hook für Cobblemon Catch, Evolution und Level Events.
@@ -21,15 +23,22 @@ import java.util.List;
 public final class QuestCatchHook {
     private QuestCatchHook() {}
 
+    private static final HookErrors.Channel CAPTURE_ERRORS =
+            HookErrors.channel("quest-capture", "[quests] Error in onPokemonCaptured", true);
+    private static final HookErrors.Channel EVOLUTION_ERRORS =
+            HookErrors.channel("quest-evolution", "[quests] Error in onEvolutionComplete", true);
+    private static final HookErrors.Channel LEVELUP_ERRORS =
+            HookErrors.channel("quest-levelup", "[quests] Error in onLevelUp", true);
+
     public static void register() {
         // Pokemon gefangen
-        CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, QuestCatchHook::onPokemonCaptured);
+        CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, HookMetrics.timed("quest-capture", QuestCatchHook::onPokemonCaptured));
 
         // Pokemon entwickelt
-        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.NORMAL, QuestCatchHook::onEvolutionComplete);
+        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.NORMAL, HookMetrics.timed("quest-evolution", QuestCatchHook::onEvolutionComplete));
 
         // Pokemon Level-Up
-        CobblemonEvents.LEVEL_UP_EVENT.subscribe(Priority.NORMAL, QuestCatchHook::onLevelUp);
+        CobblemonEvents.LEVEL_UP_EVENT.subscribe(Priority.NORMAL, HookMetrics.timed("quest-levelup", QuestCatchHook::onLevelUp));
 
         EvolutionBoost.LOGGER.info("[quests] QuestCatchHook registered.");
     }
@@ -44,21 +53,20 @@ public final class QuestCatchHook {
             }
 
             Pokemon pokemon = event.getPokemon();
-            String species = pokemon.getSpecies().getName().toLowerCase();
-            String primaryType = pokemon.getPrimaryType().getName().toLowerCase();
-            String secondaryType = pokemon.getSecondaryType() != null
-                    ? pokemon.getSecondaryType().getName().toLowerCase()
-                    : null;
+            String species = QuestPokemonKeys.species(pokemon);
+            String primaryType = QuestPokemonKeys.primaryType(pokemon);
+            String secondaryType = QuestPokemonKeys.secondaryType(pokemon);
             int level = pokemon.getLevel();
             boolean shiny = pokemon.getShiny();
-            List<String> aspects = new ArrayList<>(pokemon.getAspects());
+            Set<String> aspects = QuestPokemonKeys.aspects(pokemon);
 
-            QuestManager.get().processProgress(player, QuestType.CATCH,
-                    obj -> obj.matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
-                    1);
+            DeferredWork.submit(() -> QuestManager.get().processProgress(player, QuestType.CATCH,
+                    species, primaryType, secondaryType,
+                    obj -> obj.getMatcher().matchesPokemon(species, primaryType, secondaryType, aspects, level, shiny),
+                    1));
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[quests] Error in onPokemonCaptured: {}", e.getMessage());
+            CAPTURE_ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
@@ -78,29 +86,16 @@ public final class QuestCatchHook {
             }
 
             // Das neue Pokemon (nach Evolution)
-            String species = pokemon.getSpecies().getName().toLowerCase();
-            String primaryType = pokemon.getPrimaryType().getName().toLowerCase();
-            String secondaryType = pokemon.getSecondaryType() != null
-                    ? pokemon.getSecondaryType().getName().toLowerCase()
-                    : null;
-            int level = pokemon.getLevel();
-            boolean shiny = pokemon.getShiny();
-            List<String> aspects = new ArrayList<>(pokemon.getAspects());
-
-            QuestManager.get().processProgress(player, QuestType.EVOLVE,
-                    obj -> {
-                        // Prüfe "species" für Ziel-Pokemon
-                        List<String> speciesFilter = obj.getFilterList("species");
-                        if (!speciesFilter.isEmpty()) {
-                            return speciesFilter.stream().anyMatch(s -> s.equalsIgnoreCase(species));
-                        }
-                        // Wenn kein Filter, zählt jede Evolution
-                        return true;
-                    },
-                    1);
+            String species = QuestPokemonKeys.species(pokemon);
+
+            DeferredWork.submit(() -> QuestManager.get().processProgress(player, QuestType.EVOLVE,
+                    species, null, null, // Typ-Filter spielen bei EVOLVE keine Rolle
+                    // Prüfe "species" für Ziel-Pokemon; ohne Filter zählt jede Evolution
+                    obj -> obj.getMatcher().matchesSpecies(species),
+                    1));
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[quests] Error in onEvolutionComplete: {}", e.getMessage());
+            EVOLUTION_ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
@@ -118,28 +113,21 @@ public final class QuestCatchHook {
                 return Unit.INSTANCE;
             }
 
-            String species = pokemon.getSpecies().getName().toLowerCase();
-            String primaryType = pokemon.getPrimaryType().getName().toLowerCase();
-            String secondaryType = pokemon.getSecondaryType() != null
-                    ? pokemon.getSecondaryType().getName().toLowerCase()
-                    : null;
+            String species = QuestPokemonKeys.species(pokemon);
+            String primaryType = QuestPokemonKeys.primaryType(pokemon);
+            String secondaryType = QuestPokemonKeys.secondaryType(pokemon);
             int newLevel = event.getNewLevel();
             boolean shiny = pokemon.getShiny();
-            List<String> aspects = new ArrayList<>(pokemon.getAspects());
-
-            QuestManager.get().processProgress(player, QuestType.LEVEL_UP,
-                    obj -> {
-                        // MinLevel prüfen (Ziel-Level erreicht?)
-                        Integer minLevel = obj.getFilterInt("minLevel");
-                        if (minLevel != null && newLevel < minLevel) {
-                            return false;
-                        }
-                        return obj.matchesPokemon(species, primaryType, secondaryType, aspects, newLevel, shiny);
-                    },
-                    1);
+            Set<String> aspects = QuestPokemonKeys.aspects(pokemon);
+
+            DeferredWork.submit(() -> QuestManager.get().processProgress(player, QuestType.LEVEL_UP,
+                    species, primaryType, secondaryType,
+                    // minLevel = Ziel-Level erreicht?
+                    obj -> obj.getMatcher().matchesPokemon(species, primaryType, secondaryType, aspects, newLevel, shiny),
+                    1));
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[quests] Error in onLevelUp: {}", e.getMessage());
+            LEVELUP_ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
@@ -39,7 +39,7 @@ public final class QuestItemHook {
             int amount = stack.getCount();
 
             QuestManager.get().processProgress(player, QuestType.COLLECT_ITEM,
-                    obj -> obj.matchesItem(itemIdStr),
+                    obj -> obj.getMatcher().matchesItem(itemIdStr),
                     amount);
 
         } catch (Exception e) {
@@ -62,7 +62,7 @@ public final class QuestItemHook {
                     boolean anyProgressMade = false;
                     
                     for (var obj : quest.getObjectivesByType(QuestType.COLLECT_ITEM)) {
-                        String requiredItem = obj.getFilterString("item");
+                        String requiredItem = obj.getMatcher().item();
                         if (requiredItem == null) continue;
 
                         // Zähle Items im Inventar
@@ -71,7 +71,11 @@ public final class QuestItemHook {
 
                         // Setze Fortschritt auf Inventar-Anzahl (falls anders)
                         if (count != currentProgress) {
-                            data.setObjectiveProgress(questId, obj.getId(), Math.min(count, obj.getTarget()));
+                            int newProgress = Math.min(count, obj.getTarget());
+                            data.setObjectiveProgress(questId, obj.getId(), newProgress);
+                            if (newProgress != currentProgress) {
+                                qm.savePlayerData(player.getUUID()); // Write-Behind, kein sofortiger Disk-Zugriff
+                            }
                             
                             // Nachricht wenn Target neu erreicht
                             if (currentProgress < obj.getTarget() && count >= obj.getTarget()) {
@@ -0,0 +1,57 @@
+package com.ichezzy.evolutionboost.compat.cobblemon;
+
+import com.cobblemon.mod.common.api.types.ElementalType;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lowercase-Schlüssel für den Quest-Abgleich (siehe ObjectiveMatcher).
+ *
+ * Alle Schlüssel (Species, Typen, Aspects) sind lowercase, wie es der Matcher erwartet.
+ * Species-Namen werden einmal pro Species lowercased und gemerkt, statt bei jedem
+ * Catch/Level-Up/Fainted-Event einen neuen String zu bauen. Typ-Namen sind in Cobblemon
+ * bereits lowercase; toLowerCase gibt dann dieselbe Instanz zurück.
+ */
+final class QuestPokemonKeys {
+    private QuestPokemonKeys() {}
+
+    private static final Map<String, String> SPECIES = new ConcurrentHashMap<>();
+
+    static String species(Pokemon pokemon) {
+        return SPECIES.computeIfAbsent(pokemon.getSpecies().getName(), name -> name.toLowerCase(Locale.ROOT));
+    }
+
+    static String primaryType(Pokemon pokemon) {
+        return type(pokemon.getPrimaryType());
+    }
+
+    /** Kann null sein. */
+    static String secondaryType(Pokemon pokemon) {
+        ElementalType secondary = pokemon.getSecondaryType();
+        return secondary != null ? type(secondary) : null;
+    }
+
+    private static String type(ElementalType type) {
+        return type.getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Unveränderliche, lowercase Kopie der Aspects (Set-Lookup im Matcher, sicher für DeferredWork).
+     * Der Abgleich war schon immer case-insensitiv; bereits lowercase Aspects kosten kein neues String-Objekt.
+     */
+    static Set<String> aspects(Pokemon pokemon) {
+        Set<String> raw = pokemon.getAspects();
+        if (raw.isEmpty()) return Set.of();
+        List<String> lower = new ArrayList<>(raw.size());
+        for (String aspect : raw) {
+            lower.add(aspect.toLowerCase(Locale.ROOT));
+        }
+        return Set.copyOf(lower); // copyOf verträgt Duplikate ("Christmas" + "christmas")
+    }
+}
@@ -1,15 +1,121 @@
 package com.ichezzy.evolutionboost.compat.cobblemon;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 
 public final class ReflectUtils {
     private ReflectUtils() {}
 
     /* ------------------ Method-Finder ------------------ */
 
+    /*
+     * Alle Lookups werden pro Klasse in einem ClassValue gecacht – auch negative Ergebnisse
+     * ("gibt es nicht"). Die Hooks probieren pro Event viele Kandidaten-Namen durch
+     * (getPlayer, getOwnerId, getLevel, ...); nach dem ersten Event einer Klasse kostet das
+     * nur noch einen Map-Lookup statt getMethods()/setAccessible.
+     */
+
+    /** Platzhalter für "nicht gefunden" im Cache (ConcurrentHashMap kann kein null). */
+    private static final Object MISSING = new Object();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /*
+     * Die Caches sind direkt nach dem Methodennamen geschlüsselt – ein Treffer kostet keinen
+     * zusammengesetzten String. Wo zusätzlich Parametertypen bzw. weitere Namen zählen, hängt
+     * am Namen ein kleines Array von Varianten, das per Arrays.equals (ohne Allokation)
+     * durchsucht wird.
+     */
+
+    /** Eine gecachte Variante: Parametertypen bzw. Kandidaten-Namen -> Method | MISSING. */
+    private record Variant(Object[] key, Object result) {}
+
+    private static final Variant[] NO_VARIANTS = new Variant[0];
+
+    /** Klasse -> (Name -> Varianten) für find. */
+    private static final ClassValue<Map<String, Variant[]>> EXACT = new ClassValue<>() {
+        @Override
+        protected Map<String, Variant[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** Klasse -> (erster Name -> Varianten) für findAny. */
+    private static final ClassValue<Map<String, Variant[]>> ANY = new ClassValue<>() {
+        @Override
+        protected Map<String, Variant[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** Klasse -> (Name -> Function | MISSING) für getter. */
+    private static final ClassValue<Map<String, Object>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** Klasse -> (Name -> ObjIntConsumer | MISSING) für intSetter. */
+    private static final ClassValue<Map<String, Object>> INT_SETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /** Exakte Methode mit Parametern. */
     public static Method find(Class<?> c, String name, Class<?>... params) {
+        Map<String, Variant[]> byName = EXACT.get(c);
+        Object cached = variant(byName.getOrDefault(name, NO_VARIANTS), params);
+        if (cached == null) {
+            Method m = lookupExact(c, name, params);
+            cached = m != null ? m : MISSING;
+            addVariant(byName, name, new Variant(params.clone(), cached));
+        }
+        return cached == MISSING ? null : (Method) cached;
+    }
+
+    /** Erste Methode mit einem der Namen, ohne Parametertypen zu erzwingen. */
+    public static Method findAny(Class<?> c, String... names) {
+        if (names.length == 0) return null;
+        Map<String, Variant[]> byName = ANY.get(c);
+        Object cached = variant(byName.getOrDefault(names[0], NO_VARIANTS), names);
+        if (cached == null) {
+            Method m = lookupAny(c, names);
+            cached = m != null ? m : MISSING;
+            addVariant(byName, names[0], new Variant(names.clone(), cached));
+        }
+        return cached == MISSING ? null : (Method) cached;
+    }
+
+    /** Gecachtes Ergebnis für {@code key} oder null. */
+    private static Object variant(Variant[] variants, Object[] key) {
+        for (Variant v : variants) {
+            if (Arrays.equals(v.key(), key)) return v.result();
+        }
+        return null;
+    }
+
+    private static void addVariant(Map<String, Variant[]> byName, String name, Variant added) {
+        byName.merge(name, new Variant[]{added}, (old, one) -> {
+            if (variant(old, added.key()) != null) return old; // parallel schon eingetragen
+            Variant[] grown = Arrays.copyOf(old, old.length + 1);
+            grown[old.length] = added;
+            return grown;
+        });
+    }
+
+    private static Method lookupExact(Class<?> c, String name, Class<?>... params) {
         try {
             Method m = c.getDeclaredMethod(name, params);
             m.setAccessible(true);
@@ -23,8 +129,7 @@ public final class ReflectUtils {
         return null;
     }
 
-    /** Erste Methode mit einem der Namen, ohne Parametertypen zu erzwingen. */
-    public static Method findAny(Class<?> c, String... names) {
+    private static Method lookupAny(Class<?> c, String... names) {
         for (String n : names) {
             // public Methoden
             for (Method m : c.getMethods()) {
@@ -43,6 +148,158 @@ public final class ReflectUtils {
         return null;
     }
 
+    /* ------------------ Accessor-Cache ------------------ */
+
+    /**
+     * Parameterloser Getter {@code name} auf Klasse {@code c} als Funktion (gecacht, auch negativ).
+     * Öffentliche Methoden werden per LambdaMetafactory zu echten Lambdas gebunden (so schnell
+     * wie ein direkter Aufruf), alles andere läuft über einen MethodHandle.
+     *
+     * @return Accessor oder null, wenn es keinen passenden Getter gibt
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getter(Class<?> c, String name) {
+        Map<String, Object> byName = GETTERS.get(c);
+        Object cached = byName.get(name); // Treffer ohne Lambda-Allokation
+        if (cached == null) {
+            cached = byName.computeIfAbsent(name, k -> {
+                Function<Object, Object> f = bindGetter(c, name);
+                return f != null ? f : MISSING;
+            });
+        }
+        return cached == MISSING ? null : (Function<Object, Object>) cached;
+    }
+
+    /**
+     * Setter {@code name(int)} auf Klasse {@code c} (gecacht, auch negativ).
+     *
+     * @return Accessor oder null, wenn es keinen passenden Setter gibt
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjIntConsumer<Object> intSetter(Class<?> c, String name) {
+        Map<String, Object> byName = INT_SETTERS.get(c);
+        Object cached = byName.get(name);
+        if (cached == null) {
+            cached = byName.computeIfAbsent(name, k -> {
+                ObjIntConsumer<Object> f = bindIntSetter(c, name);
+                return f != null ? f : MISSING;
+            });
+        }
+        return cached == MISSING ? null : (ObjIntConsumer<Object>) cached;
+    }
+
+    /** Ruft die Getter der Reihe nach auf und liefert den ersten Nicht-null-Wert. */
+    public static Object invokeFirst(Object target, String... names) {
+        if (target == null) return null;
+        Class<?> c = target.getClass();
+        for (String n : names) {
+            Function<Object, Object> g = getter(c, n);
+            if (g == null) continue;
+            try {
+                Object res = g.apply(target);
+                if (res != null) return res;
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+
+    /** Wie {@link #invokeFirst}, aber nur Zahlen (als int). */
+    public static Integer readInt(Object target, String... names) {
+        if (target == null) return null;
+        Class<?> c = target.getClass();
+        for (String n : names) {
+            Function<Object, Object> g = getter(c, n);
+            if (g == null) continue;
+            try {
+                if (g.apply(target) instanceof Number num) {
+                    return num.intValue();
+                }
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+
+    private static Function<Object, Object> bindGetter(Class<?> c, String name) {
+        Method m = lookupHierarchy(c, name);
+        if (m == null || m.getReturnType() == void.class || Modifier.isStatic(m.getModifiers())) return null;
+        try {
+            m.trySetAccessible();
+            MethodHandle mh = LOOKUP.unreflect(m);
+            if (isPublicApi(m)) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            LOOKUP, "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            mh,
+                            mh.type().wrap()
+                    );
+                    @SuppressWarnings("unchecked")
+                    Function<Object, Object> f = (Function<Object, Object>) site.getTarget().invoke();
+                    return f;
+                } catch (Throwable ignored) {
+                    // z.B. Klasse aus fremdem Loader nicht sichtbar -> MethodHandle unten
+                }
+            }
+            MethodHandle generic = mh.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return generic.invokeExact(target);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static ObjIntConsumer<Object> bindIntSetter(Class<?> c, String name) {
+        Method m = lookupHierarchy(c, name, int.class);
+        if (m == null || Modifier.isStatic(m.getModifiers())) return null;
+        try {
+            m.trySetAccessible();
+            MethodHandle generic = LOOKUP.unreflect(m)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /** Sucht öffentlich (inkl. geerbt), sonst deklariert in Klasse + Superklassen. */
+    private static Method lookupHierarchy(Class<?> c, String name, Class<?>... params) {
+        try {
+            return c.getMethod(name, params);
+        } catch (NoSuchMethodException ignored) {}
+        for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+            try {
+                Method m = k.getDeclaredMethod(name, params);
+                m.setAccessible(true);
+                return m;
+            } catch (NoSuchMethodException ignored) {
+            } catch (RuntimeException e) {
+                return null; // InaccessibleObjectException o.ä.
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPublicApi(Method m) {
+        return Modifier.isPublic(m.getModifiers())
+                && Modifier.isPublic(m.getDeclaringClass().getModifiers());
+    }
+
     /* ------------------ Event-Subscription ------------------ */
 
     /**
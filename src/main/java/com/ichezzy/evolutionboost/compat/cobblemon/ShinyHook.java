@@ -7,9 +7,12 @@ import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.boost.BoostManager;
+import com.ichezzy.evolutionboost.boost.BoostStats;
 import com.ichezzy.evolutionboost.boost.BoostType;
 import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
 import com.ichezzy.evolutionboost.item.ShinyCharmItem;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
 import net.minecraft.resources.ResourceKey;
@@ -23,10 +26,13 @@ import java.lang.reflect.Method;
  * - hängt direkt an CobblemonEvents.POKEMON_ENTITY_SPAWN
  * - liest den SHINY-Boost (GLOBAL × DIMENSION × CHARM) aus BoostManager + ShinyCharmItem
  * - forciert zusätzliche Shiny-Rolls anhand der shinyBaseOdds-Config
+ * - typisierter Cobblemon-Pfad, falls CobblemonLinkage ihn validiert hat; sonst Reflection
  */
 public final class ShinyHook {
     private ShinyHook() {}
 
+    private static final HookErrors.Channel ERRORS = HookErrors.channel("shiny", "[compat][shiny] error in spawn handler");
+
     /**
      * Alte Signatur beibehalten, damit HooksRegistrar unverändert bleibt.
      * clsEvents/priority werden hier nicht benötigt.
@@ -39,20 +45,22 @@ public final class ShinyHook {
     private static void register(MinecraftServer server) {
         CobblemonEvents.POKEMON_ENTITY_SPAWN.subscribe(
                 Priority.NORMAL,
-                new Function1<SpawnEvent<PokemonEntity>, Unit>() {
+                HookMetrics.timed("shiny", new Function1<SpawnEvent<PokemonEntity>, Unit>() {
                     @Override
                     public Unit invoke(SpawnEvent<PokemonEntity> ev) {
+                        if (ERRORS.disabled()) return Unit.INSTANCE;
                         try {
                             handleSpawn(server, ev);
                         } catch (Throwable t) {
-                            EvolutionBoost.LOGGER.warn(
-                                    "[compat][shiny] error in spawn handler: {}",
-                                    t.toString()
-                            );
+                            if (ERRORS.report(t)) {
+                                // erst typisierten Pfad abschalten, beim nächsten Mal den Hook
+                                if (CobblemonLinkage.shiny) CobblemonLinkage.demote("shiny", t);
+                                else ERRORS.disable(t);
+                            }
                         }
                         return Unit.INSTANCE;
                     }
-                }
+                })
         );
 
         EvolutionBoost.LOGGER.info("[compat][shiny] POKEMON_ENTITY_SPAWN hook registered.");
@@ -68,6 +76,13 @@ public final class ShinyHook {
 
         ResourceKey<Level> dimKey = entity.level().dimension();
 
+        EvolutionBoostConfig cfg = EvolutionBoostConfig.get();
+        int baseOdds = cfg.shinyBaseOdds <= 0 ? 8192 : cfg.shinyBaseOdds;
+
+        // Basis-Shinychance (z.B. 1/8192)
+        double pb = 1.0 / (double) baseOdds;
+        BoostStats.shinySpawn(dimKey, pb);
+
         // Basis-Multiplikator: GLOBAL × DIMENSION
         double baseMult = BoostManager.get(server).getMultiplierFor(BoostType.SHINY, null, dimKey);
 
@@ -93,12 +108,6 @@ public final class ShinyHook {
 
         // --- Formel basierend auf shinyBaseOdds aus EvolutionBoostConfig ---
 
-        EvolutionBoostConfig cfg = EvolutionBoostConfig.get();
-        int baseOdds = cfg.shinyBaseOdds <= 0 ? 8192 : cfg.shinyBaseOdds;
-
-        // Basis-Shinychance (z.B. 1/8192)
-        double pb = 1.0 / (double) baseOdds;
-
         // Extra-Chance, um von pb auf mult * pb zu kommen:
         // EndChance ~= pb + (1 - pb) * extraChance  ≈ mult * pb
         // => extraChance ~ (mult - 1) * pb   (für pb << 1)
@@ -108,9 +117,12 @@ public final class ShinyHook {
         if (extraChance <= 0.0) return;
         if (extraChance > 0.95) extraChance = 0.95;
 
+        BoostStats.shinyRolled(dimKey, extraChance);
+
         double roll = entity.level().getRandom().nextDouble();
         if (roll < extraChance) {
             setShiny(pokemon, true);
+            BoostStats.boosted(BoostType.SHINY, dimKey, 1);
             EvolutionBoost.LOGGER.debug(
                     "[compat][shiny] Force-shiny applied (baseMult={}, charmMult={}, totalMult={}, dim={}, extraChance={})",
                     baseMult, charmMult, mult, dimKey.location(), extraChance
@@ -118,50 +130,61 @@ public final class ShinyHook {
         }
     }
 
-    /* --------- Reflection-Helper auf Cobblemon-Klassen --------- */
+    /* --------- Cobblemon-Zugriffe: typisiert (CobblemonLinkage), sonst Reflection --------- */
 
     private static Pokemon getPokemon(PokemonEntity entity) {
+        if (CobblemonLinkage.shiny) {
+            try {
+                return entity.getPokemon();
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("shiny", e);
+            }
+        }
         try {
-            Method m = entity.getClass().getMethod("getPokemon");
-            Object o = m.invoke(entity);
+            Object o = ReflectUtils.invokeFirst(entity, "getPokemon");
             if (o instanceof Pokemon p) return p;
         } catch (Throwable ignored) {}
         return null;
     }
 
     /**
-     * Versucht über Reflection herauszufinden, ob das Pokémon bereits shiny ist.
-     * Probiert typische Methoden wie isShiny() / getShiny().
+     * Ob das Pokémon bereits shiny ist.
+     * Reflection-Fallback probiert typische Methoden wie isShiny() / getShiny().
      */
     private static boolean isCurrentlyShiny(Pokemon pokemon) {
-        try {
-            // 1) isShiny(): Boolean
+        if (CobblemonLinkage.shiny) {
             try {
-                Method m = pokemon.getClass().getMethod("isShiny");
-                Object o = m.invoke(pokemon);
-                if (o instanceof Boolean b) return b;
-            } catch (NoSuchMethodException ignored) {}
-
-            // 2) getShiny(): Boolean
-            try {
-                Method m = pokemon.getClass().getMethod("getShiny");
-                Object o = m.invoke(pokemon);
-                if (o instanceof Boolean b) return b;
-            } catch (NoSuchMethodException ignored) {}
+                return pokemon.getShiny();
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("shiny", e);
+            }
+        }
+        try {
+            // isShiny(): Boolean, sonst getShiny(): Boolean
+            Object o = ReflectUtils.invokeFirst(pokemon, "isShiny", "getShiny");
+            if (o instanceof Boolean b) return b;
         } catch (Throwable ignored) {}
         return false;
     }
 
     /**
-     * Setzt shiny per Reflection (z.B. setShiny(boolean)).
+     * Setzt shiny (Reflection-Fallback: setShiny(boolean)).
      */
     private static void setShiny(Pokemon pokemon, boolean shiny) {
+        if (CobblemonLinkage.shiny) {
+            try {
+                pokemon.setShiny(shiny);
+                return;
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("shiny", e);
+            }
+        }
         try {
-            Method m = pokemon.getClass().getMethod("setShiny", boolean.class);
-            m.invoke(pokemon, shiny);
+            Method m = ReflectUtils.find(pokemon.getClass(), "setShiny", boolean.class);
+            if (m != null) m.invoke(pokemon, shiny);
         } catch (Throwable ignored) {
             // Wenn die Methode in einer zukünftigen Version anders heißt,
             // verhindern wir damit zumindest einen Crash.
         }
     }
-}
\ No newline at end of file
+}
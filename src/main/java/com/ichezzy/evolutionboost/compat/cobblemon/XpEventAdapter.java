@@ -0,0 +1,316 @@
+package com.ichezzy.evolutionboost.compat.cobblemon;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Kompilierter Zugriffspfad für eine konkrete Kombination aus XP-Event- und Source-Klasse.
+ *
+ * Das erste Event jeder Kombination läuft einmal durch die komplette Probe-Kette
+ * (Player im Event, Player in der Source, UUID im Event, UUID in der Source,
+ * Pokemon-Owner-UUID, Pokemon-Owner-Objekt). Welcher Schritt dabei getroffen hat,
+ * wird hier mitsamt Accessor festgehalten; Folgeevents gehen direkt darüber.
+ *
+ * Liefert der gemerkte Pfad später nichts mehr, verwirft XpHook den Adapter und probt neu.
+ * Wurde beim Proben gar kein Spieler gefunden (z.B. Owner gerade ausgeloggt), ist das kein
+ * Dauerzustand: solche Adapter werden gedrosselt ({@link #NONE_REPROBE_NANOS}) erneut geprobt.
+ */
+final class XpEventAdapter {
+
+    /** Woher der Spieler kommt (in Probe-Reihenfolge). */
+    enum PlayerSource {
+        EVENT_PLAYER, SOURCE_PLAYER, EVENT_UUID, SOURCE_UUID, POKEMON_OWNER_ID, POKEMON_OWNER, NONE
+    }
+
+    /** Woher das Level kommt, falls kein Spieler gefunden wird. */
+    enum LevelSource { EVENT, SOURCE, OVERWORLD }
+
+    private static final String[] PLAYER_GETTERS = {
+            "getPlayer", "player",
+            "getServerPlayer", "serverPlayer",
+            "getUser", "user",
+            "getTrainer"
+    };
+    private static final String[] PLAYER_ID_GETTERS = {
+            "getPlayerId", "getPlayerUUID", "getUuid", "getUUID", "getPlayerUuid", "playerId"
+    };
+    private static final String[] POKEMON_GETTERS = {"getPokemon", "pokemon"};
+    private static final String[] OWNER_ID_GETTERS = {
+            "getOwnerId", "getOwnerUUID", "getOwnerUuid", "getOwnerPlayerUUID"
+    };
+    private static final String[] OWNER_GETTERS = {"getOwner", "owner", "getOwnerPlayer", "ownerPlayer"};
+    private static final String[] LEVEL_GETTERS = {"getLevel", "getWorld", "level", "world"};
+    private static final String[] XP_GETTERS = {"getExperience", "getExp", "experience"};
+    private static final String[] XP_SETTERS = {"setExperience", "setExp"};
+
+    /** Mindestabstand, bevor ein Adapter ohne Spieler-Pfad erneut geprobt wird. */
+    private static final long NONE_REPROBE_NANOS = 5_000_000_000L;
+
+    @SuppressWarnings("unchecked")
+    private static final ObjIntConsumer<Object>[] NO_SETTERS = new ObjIntConsumer[0];
+
+    /** Event-Klasse -> (Source-Klasse -> Adapter). */
+    private static final ClassValue<Map<Class<?>, XpEventAdapter>> ADAPTERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, XpEventAdapter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    final PlayerSource playerSource;
+    final LevelSource levelSource;
+    private final Function<Object, Object> playerGetter;
+    private final Function<Object, Object> pokemonGetter;
+    private final Function<Object, Object> levelGetter;
+    private final Function<Object, Object> xpGetter;
+    private final ObjIntConsumer<Object>[] xpSetters;
+    private final long probedAt = System.nanoTime();
+
+    private XpEventAdapter(PlayerSource playerSource, Function<Object, Object> playerGetter,
+                           Function<Object, Object> pokemonGetter,
+                           LevelSource levelSource, Function<Object, Object> levelGetter,
+                           Function<Object, Object> xpGetter, ObjIntConsumer<Object>[] xpSetters) {
+        this.playerSource = playerSource;
+        this.playerGetter = playerGetter;
+        this.pokemonGetter = pokemonGetter;
+        this.levelSource = levelSource;
+        this.levelGetter = levelGetter;
+        this.xpGetter = xpGetter;
+        this.xpSetters = xpSetters;
+    }
+
+    /** Gecachter Adapter oder null, wenn die Kombination noch nicht geprobt wurde. */
+    static XpEventAdapter cached(Class<?> eventClass, Class<?> sourceClass) {
+        return ADAPTERS.get(eventClass).get(sourceClass);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Kompilierter Pfad                                                  */
+    /* ------------------------------------------------------------------ */
+
+    /** True, wenn beim Proben ein Spieler gefunden wurde (null ist dann ein Fehlschlag). */
+    boolean expectsPlayer() {
+        return playerSource != PlayerSource.NONE;
+    }
+
+    /**
+     * True, wenn beim Proben kein Spieler gefunden wurde und das lange genug her ist –
+     * dann lohnt ein neuer Versuch (z.B. Owner war beim ersten Event gerade nicht online).
+     */
+    boolean reprobeDue() {
+        return playerSource == PlayerSource.NONE && System.nanoTime() - probedAt >= NONE_REPROBE_NANOS;
+    }
+
+    ServerPlayer player(Object ev, Object src, MinecraftServer server) {
+        try {
+            return switch (playerSource) {
+                case EVENT_PLAYER -> asPlayer(playerGetter.apply(ev));
+                case SOURCE_PLAYER -> asPlayer(playerGetter.apply(src));
+                case EVENT_UUID -> online(server, toUuid(playerGetter.apply(ev)));
+                case SOURCE_UUID -> online(server, toUuid(playerGetter.apply(src)));
+                case POKEMON_OWNER_ID -> {
+                    Object pokemon = pokemon(ev);
+                    yield pokemon == null ? null : online(server, toUuid(playerGetter.apply(pokemon)));
+                }
+                case POKEMON_OWNER -> {
+                    Object pokemon = pokemon(ev);
+                    yield pokemon == null ? null : asPlayer(playerGetter.apply(pokemon));
+                }
+                case NONE -> null;
+            };
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    ServerLevel level(Object ev, Object src, MinecraftServer server) {
+        try {
+            Object o = switch (levelSource) {
+                case EVENT -> levelGetter.apply(ev);
+                case SOURCE -> levelGetter.apply(src);
+                case OVERWORLD -> null;
+            };
+            if (o instanceof ServerLevel sl) return sl;
+        } catch (Throwable ignored) {}
+        try {
+            return server.overworld();
+        } catch (Throwable ignored) {}
+        return null;
+    }
+
+    Object pokemon(Object ev) {
+        if (pokemonGetter == null) return null;
+        try {
+            return pokemonGetter.apply(ev);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    Integer readXp(Object ev) {
+        if (xpGetter == null) return null;
+        try {
+            return xpGetter.apply(ev) instanceof Number num ? num.intValue() : null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /** Schreibt in alle beim Proben gefundenen Setter (wie bisher). */
+    boolean writeXp(Object ev, int value) {
+        boolean written = false;
+        for (ObjIntConsumer<Object> setter : xpSetters) {
+            try {
+                setter.accept(ev, value);
+                written = true;
+            } catch (Throwable ignored) {}
+        }
+        return written;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Probe-Phase                                                        */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Läuft die komplette Probe-Kette für dieses Event durch, merkt sich den ersten
+     * erfolgreichen Schritt und ersetzt einen eventuell vorhandenen Adapter.
+     */
+    static XpEventAdapter probe(Object ev, Object src, MinecraftServer server) {
+        Class<?> evClass = ev.getClass();
+        Class<?> srcClass = src.getClass();
+        boolean debug = DebugConfig.get().debugXpHook;
+
+        Function<Object, Object> pokemonGetter = firstNonNull(ev, POKEMON_GETTERS);
+        Object pokemon = null;
+        if (pokemonGetter != null) {
+            try {
+                pokemon = pokemonGetter.apply(ev);
+            } catch (Throwable ignored) {}
+        }
+
+        PlayerSource playerSource = PlayerSource.NONE;
+        Function<Object, Object> playerGetter = null;
+
+        // 1) + 2) direkte Player-Referenz im Event / in der Source
+        if ((playerGetter = firstPlayer(ev)) != null) {
+            playerSource = PlayerSource.EVENT_PLAYER;
+        } else if ((playerGetter = firstPlayer(src)) != null) {
+            playerSource = PlayerSource.SOURCE_PLAYER;
+        // 3) + 4) Player-UUID im Event / in der Source
+        } else if ((playerGetter = firstOnlineId(ev, PLAYER_ID_GETTERS, server)) != null) {
+            playerSource = PlayerSource.EVENT_UUID;
+        } else if ((playerGetter = firstOnlineId(src, PLAYER_ID_GETTERS, server)) != null) {
+            playerSource = PlayerSource.SOURCE_UUID;
+        // 5) Besitzer über das Pokemon
+        } else if (pokemon != null && (playerGetter = firstOnlineId(pokemon, OWNER_ID_GETTERS, server)) != null) {
+            playerSource = PlayerSource.POKEMON_OWNER_ID;
+        } else if (pokemon != null && (playerGetter = firstPlayer(pokemon, OWNER_GETTERS)) != null) {
+            playerSource = PlayerSource.POKEMON_OWNER;
+        }
+
+        // Level nur relevant, wenn kein Spieler gefunden wird – wird aber gleich mit aufgelöst
+        LevelSource levelSource = LevelSource.OVERWORLD;
+        Function<Object, Object> levelGetter;
+        if ((levelGetter = firstOfType(ev, LEVEL_GETTERS, ServerLevel.class)) != null) {
+            levelSource = LevelSource.EVENT;
+        } else if ((levelGetter = firstOfType(src, LEVEL_GETTERS, ServerLevel.class)) != null) {
+            levelSource = LevelSource.SOURCE;
+        }
+
+        Function<Object, Object> xpGetter = firstOfType(ev, XP_GETTERS, Number.class);
+
+        List<ObjIntConsumer<Object>> setters = new ArrayList<>(XP_SETTERS.length);
+        for (String n : XP_SETTERS) {
+            ObjIntConsumer<Object> s = ReflectUtils.intSetter(evClass, n);
+            if (s != null) setters.add(s);
+        }
+
+        XpEventAdapter adapter = new XpEventAdapter(
+                playerSource, playerGetter, pokemonGetter,
+                levelSource, levelGetter,
+                xpGetter, setters.isEmpty() ? NO_SETTERS : setters.toArray(NO_SETTERS)
+        );
+        ADAPTERS.get(evClass).put(srcClass, adapter);
+
+        if (debug) {
+            EvolutionBoost.LOGGER.info(
+                    "[compat][xp][debug] compiled adapter for event={}, source={}: player={}, level={}, xpGetter={}, xpSetters={}",
+                    evClass.getName(), srcClass.getName(), playerSource, levelSource,
+                    xpGetter != null, setters.size()
+            );
+        }
+        return adapter;
+    }
+
+    private static Function<Object, Object> firstPlayer(Object target) {
+        return firstPlayer(target, PLAYER_GETTERS);
+    }
+
+    private static Function<Object, Object> firstPlayer(Object target, String[] names) {
+        return firstOfType(target, names, ServerPlayer.class);
+    }
+
+    /** Erster Getter, der auf {@code target} einen Wert vom Typ {@code type} liefert. */
+    private static Function<Object, Object> firstOfType(Object target, String[] names, Class<?> type) {
+        if (target == null) return null;
+        for (String n : names) {
+            Function<Object, Object> g = ReflectUtils.getter(target.getClass(), n);
+            if (g == null) continue;
+            try {
+                if (type.isInstance(g.apply(target))) return g;
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+
+    private static Function<Object, Object> firstNonNull(Object target, String[] names) {
+        return firstOfType(target, names, Object.class);
+    }
+
+    /** Erster Getter, dessen UUID (oder UUID-String) zu einem Online-Spieler gehört. */
+    private static Function<Object, Object> firstOnlineId(Object target, String[] names, MinecraftServer server) {
+        if (target == null) return null;
+        for (String n : names) {
+            Function<Object, Object> g = ReflectUtils.getter(target.getClass(), n);
+            if (g == null) continue;
+            try {
+                if (online(server, toUuid(g.apply(target))) != null) return g;
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Helper                                                             */
+    /* ------------------------------------------------------------------ */
+
+    private static ServerPlayer asPlayer(Object o) {
+        return o instanceof ServerPlayer sp ? sp : null;
+    }
+
+    private static ServerPlayer online(MinecraftServer server, UUID id) {
+        return id == null ? null : server.getPlayerList().getPlayer(id);
+    }
+
+    private static UUID toUuid(Object o) {
+        if (o instanceof UUID u) return u;
+        if (o instanceof String s) {
+            try {
+                return UUID.fromString(s);
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return null;
+    }
+}
@@ -2,10 +2,15 @@ package com.ichezzy.evolutionboost.compat.cobblemon;
 
 import com.cobblemon.mod.common.api.Priority;
 import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.api.events.pokemon.ExperienceGainedEvent;
+import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
-import com.ichezzy.evolutionboost.boost.BoostManager;
+import com.ichezzy.evolutionboost.boost.BoostStats;
+import com.ichezzy.evolutionboost.boost.EffectiveMultiplierCache;
 import com.ichezzy.evolutionboost.boost.BoostType;
 import com.ichezzy.evolutionboost.configs.DebugConfig;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
 import net.minecraft.resources.ResourceKey;
@@ -14,23 +19,23 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 
-import java.lang.reflect.Method;
 import java.util.Locale;
 import java.util.UUID;
 
-import static com.ichezzy.evolutionboost.compat.cobblemon.ReflectUtils.find;
-import static com.ichezzy.evolutionboost.compat.cobblemon.ReflectUtils.findAny;
-
 /**
  * XP-Hook:
  * - hängt direkt an CobblemonEvents.EXPERIENCE_GAINED_EVENT_PRE
  * - boostet NUR Battle-XP (BattleExperienceSource)
- * - verwendet GLOBAL × DIMENSION-Multiplikator aus BoostManager
+ * - verwendet GLOBAL × DIMENSION × XP_CHARM über EffectiveMultiplierCache
+ * - typisierter Cobblemon-Pfad (ExperienceGainedEvent.Pre), falls CobblemonLinkage ihn validiert hat;
+ *   sonst Spieler/Level/XP-Zugriff über einen pro Event-Klasse kompilierten XpEventAdapter
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public final class XpHook {
     private XpHook() {}
 
+    private static final HookErrors.Channel ERRORS = HookErrors.channel("xp", "[compat][xp] error in xp handler");
+
     /**
      * Alte Signatur für HooksRegistrar – clsEvents/priority werden nicht mehr benötigt.
      */
@@ -42,20 +47,22 @@ public final class XpHook {
     private static void register(MinecraftServer server) {
         CobblemonEvents.EXPERIENCE_GAINED_EVENT_PRE.subscribe(
                 Priority.NORMAL,
-                new Function1<Object, Unit>() {
+                HookMetrics.timed("xp", new Function1<Object, Unit>() {
                     @Override
                     public Unit invoke(Object ev) {
+                        if (ERRORS.disabled()) return Unit.INSTANCE;
                         try {
                             handleXp(server, ev);
                         } catch (Throwable t) {
-                            EvolutionBoost.LOGGER.warn(
-                                    "[compat][xp] error in xp handler: {}",
-                                    t.toString()
-                            );
+                            if (ERRORS.report(t)) {
+                                // erst typisierten Pfad abschalten, beim nächsten Mal den Hook
+                                if (CobblemonLinkage.xp) CobblemonLinkage.demote("xp", t);
+                                else ERRORS.disable(t);
+                            }
                         }
                         return Unit.INSTANCE;
                     }
-                }
+                })
         );
 
         EvolutionBoost.LOGGER.info("[compat][xp] EXPERIENCE_GAINED_EVENT_PRE hook registered.");
@@ -72,8 +79,15 @@ public final class XpHook {
             return;
         }
 
-        // --- 0) Pokemon aus dem Event holen (für Owner-Fallback) ---
-        Object pokemon = extractPokemon(ev);
+        // --- 0) Typisierter Pfad gegen die Cobblemon-API ---
+        if (CobblemonLinkage.xp && ev instanceof ExperienceGainedEvent.Pre pre) {
+            try {
+                handleTyped(server, pre);
+                return;
+            } catch (LinkageError e) {
+                CobblemonLinkage.demote("xp", e);
+            }
+        }
 
         // --- 1) Quelle prüfen: nur Battle-XP ---
         Object src = invokeNoArg(ev, "getSource", "source");
@@ -85,14 +99,29 @@ public final class XpHook {
             return;
         }
 
-        // --- 2) Player & Level bestimmen ---
-        ServerPlayer player = extractServerPlayer(ev, src, pokemon, server);
+        // --- 2) Adapter für diese Event-/Source-Klasse (beim ersten Event geprobt) ---
+        XpEventAdapter adapter = XpEventAdapter.cached(ev.getClass(), src.getClass());
+        boolean probed = false;
+        if (adapter == null) {
+            adapter = XpEventAdapter.probe(ev, src, server);
+            probed = true;
+        }
+
+        // --- 3) Player & Level bestimmen ---
+        ServerPlayer player = adapter.player(ev, src, server);
+        if (player == null && !probed && (adapter.expectsPlayer() || adapter.reprobeDue())) {
+            // gemerkter Pfad liefert nichts (mehr) -> komplette Kette neu proben
+            adapter = XpEventAdapter.probe(ev, src, server);
+            probed = true;
+            player = adapter.player(ev, src, server);
+        }
         ServerLevel level = (player != null)
                 ? player.serverLevel()
-                : extractServerLevel(ev, src, server);
+                : adapter.level(ev, src, server);
 
         if (level == null) {
             if (DebugConfig.get().debugXpHook) {
+                Object pokemon = adapter.pokemon(ev);
                 EvolutionBoost.LOGGER.info(
                         "[compat][xp][debug] no ServerLevel found for event={}, source={}, pokemon={}",
                         ev.getClass().getName(),
@@ -105,309 +134,122 @@ public final class XpHook {
 
         ResourceKey<Level> dimKey = level.dimension();
 
-        // --- 3) Baseline-XP lesen ---
-        Integer baseXp = readInt(ev, "getExperience", "getExp", "experience");
+        // --- 4) Baseline-XP lesen ---
+        Integer baseXp = adapter.readXp(ev);
+        if (baseXp == null && !probed) {
+            adapter = XpEventAdapter.probe(ev, src, server);
+            baseXp = adapter.readXp(ev);
+        }
         if (baseXp == null || baseXp <= 0) {
             return;
         }
 
-        // --- 4) Booster anwenden: GLOBAL × DIMENSION × XP_CHARM ---
-        BoostManager bm = BoostManager.get(server);
-        double mult = bm.getMultiplierFor(BoostType.XP, null, dimKey);
-        
-        // XP Charm Bonus (wenn Spieler bekannt)
-        if (player != null) {
-            double charmMult = com.ichezzy.evolutionboost.item.XPCharmItem.getXPMultiplier(player);
-            mult *= charmMult;
-        }
-
-        if (DebugConfig.get().debugXpHook) {
-            EvolutionBoost.LOGGER.info(
-                    "[compat][xp][debug] dim={} baseXp={} mult={}",
-                    dimKey.location(),
-                    baseXp,
-                    mult
-            );
-        }
-
+        // --- 5) Booster anwenden ---
+        double mult = multiplier(server, player, dimKey, baseXp, adapter.playerSource);
         if (mult <= 1.0) {
             return; // kein Boost aktiv
         }
 
         int boosted = Math.max(1, (int) Math.round(baseXp * mult));
 
-        // --- 5) Zurück ins Event schreiben ---
-        boolean ok = writeInt(ev, boosted, "setExperience", "setExp");
+        // --- 6) Zurück ins Event schreiben ---
+        boolean ok = adapter.writeXp(ev, boosted);
         if (!ok) {
             return;
         }
+        recordBoost(dimKey, baseXp, boosted, mult);
+    }
 
-        if (DebugConfig.get().logBoostApplications) {
-            EvolutionBoost.LOGGER.info(
-                    "[compat][xp] boosted battle XP in {} from {} to {} (mult={})",
-                    dimKey.location(), baseXp, boosted, mult
-            );
+    /**
+     * Direkter Pfad gegen die Cobblemon-API (in CobblemonLinkage geprüft).
+     * Spieler = Online-Owner des Pokemon, sonst Overworld (wie der Adapter für dieses Event).
+     */
+    private static void handleTyped(MinecraftServer server, ExperienceGainedEvent.Pre ev) {
+        if (!isBattleExperienceSource(ev.getSource())) {
+            return;
         }
-    }
 
-    /* ------------------------------------------------------------------ */
-    /* Battle-Source-Check                                                */
-    /* ------------------------------------------------------------------ */
+        Pokemon pokemon = ev.getPokemon();
+        UUID ownerId = pokemon.getOwnerUUID();
+        ServerPlayer player = ownerId != null ? server.getPlayerList().getPlayer(ownerId) : null;
+        ResourceKey<Level> dimKey = player != null ? player.serverLevel().dimension() : Level.OVERWORLD;
 
-    /** Prüft möglichst robust, ob die Source Battle-XP ist. */
-    private static boolean isBattleExperienceSource(Object src) {
-        try {
-            Class<?> battleSrc = Class.forName(
-                    "com.cobblemon.mod.common.api.pokemon.experience.BattleExperienceSource"
-            );
-            if (battleSrc.isInstance(src)) {
-                return true;
-            }
-        } catch (ClassNotFoundException ignored) {
-            // Fallback unten
+        int baseXp = ev.getExperience();
+        if (baseXp <= 0) {
+            return;
         }
 
-        String name = src.getClass().getName().toLowerCase(Locale.ROOT);
-        return name.contains("battle");
+        double mult = multiplier(server, player, dimKey, baseXp, "typed");
+        if (mult <= 1.0) {
+            return;
+        }
+
+        int boosted = Math.max(1, (int) Math.round(baseXp * mult));
+        ev.setExperience(boosted);
+        recordBoost(dimKey, baseXp, boosted, mult);
     }
 
-    /* ------------------------------------------------------------------ */
-    /* Reflection-Helper für Werte                                        */
-    /* ------------------------------------------------------------------ */
+    /** GLOBAL × DIMENSION × XP_CHARM (max. 1× pro Tick berechnet). */
+    private static double multiplier(MinecraftServer server, ServerPlayer player, ResourceKey<Level> dimKey,
+                                     int baseXp, Object via) {
+        BoostStats.seen(BoostType.XP, dimKey);
+        double mult = EffectiveMultiplierCache.get(server, player, BoostType.XP, dimKey);
 
-    private static Object invokeNoArg(Object target, String... methodNames) {
-        if (target == null) return null;
-        for (String n : methodNames) {
-            try {
-                Method m = findAny(target.getClass(), n);
-                if (m != null) {
-                    Object res = m.invoke(target);
-                    if (res != null) return res;
-                }
-            } catch (Throwable ignored) {}
+        if (DebugConfig.get().debugXpHook) {
+            EvolutionBoost.LOGGER.info(
+                    "[compat][xp][debug] dim={} baseXp={} mult={} via={}",
+                    dimKey.location(),
+                    baseXp,
+                    mult,
+                    via
+            );
         }
-        return null;
+        return mult;
     }
 
-    private static Integer readInt(Object target, String... methodNames) {
-        if (target == null) return null;
-        for (String n : methodNames) {
-            try {
-                Method m = find(target.getClass(), n);
-                if (m != null) {
-                    Object v = m.invoke(target);
-                    if (v instanceof Number num) {
-                        return num.intValue();
-                    }
-                }
-            } catch (Throwable ignored) {}
-        }
-        return null;
-    }
+    private static void recordBoost(ResourceKey<Level> dimKey, int baseXp, int boosted, double mult) {
+        BoostStats.boosted(BoostType.XP, dimKey, boosted - baseXp);
 
-    private static boolean writeInt(Object target, int value, String... methodNames) {
-        if (target == null) return false;
-        boolean written = false;
-        for (String n : methodNames) {
-            try {
-                Method m = find(target.getClass(), n, int.class);
-                if (m != null) {
-                    m.invoke(target, value);
-                    written = true;
-                }
-            } catch (Throwable ignored) {}
+        if (DebugConfig.get().logBoostApplications) {
+            EvolutionBoost.LOGGER.info(
+                    "[compat][xp] boosted battle XP in {} from {} to {} (mult={})",
+                    dimKey.location(), baseXp, boosted, mult
+            );
         }
-        return written;
     }
 
     /* ------------------------------------------------------------------ */
-    /* Spieler / Dimension                                                */
+    /* Battle-Source-Check                                                */
     /* ------------------------------------------------------------------ */
 
-    private static ServerPlayer extractServerPlayer(Object ev, Object src, Object pokemon, MinecraftServer server) {
-        // 1) direkte Player-Referenz im Event
-        ServerPlayer p = extractDirectPlayer(ev);
-        if (p != null) return p;
-
-        // 2) direkte Player-Referenz in der Source
-        p = extractDirectPlayer(src);
-        if (p != null) return p;
-
-        // 3) Player-UUID im Event
-        UUID id = extractPlayerId(ev);
-        if (id != null) {
-            ServerPlayer fromId = server.getPlayerList().getPlayer(id);
-            if (fromId != null) return fromId;
-        }
+    /** Einmal aufgelöst; null, falls die Klasse in dieser Cobblemon-Version fehlt. */
+    private static final Class<?> BATTLE_SOURCE_CLASS = resolveBattleSourceClass();
 
-        // 4) Player-UUID in der Source
-        id = extractPlayerId(src);
-        if (id != null) {
-            ServerPlayer fromId = server.getPlayerList().getPlayer(id);
-            if (fromId != null) return fromId;
-        }
-
-        // 5) Fallback: Besitzer über das Pokemon
-        if (pokemon != null) {
-            ServerPlayer fromPokemon = extractPlayerFromPokemon(pokemon, server);
-            if (fromPokemon != null) return fromPokemon;
-        }
-
-        // 6) nichts gefunden -> null (Level wird dann separat bestimmt)
-        return null;
-    }
-
-    private static ServerPlayer extractDirectPlayer(Object obj) {
-        if (obj == null) return null;
+    private static Class<?> resolveBattleSourceClass() {
         try {
-            Method m = findAny(obj.getClass(),
-                    "getPlayer", "player",
-                    "getServerPlayer", "serverPlayer",
-                    "getUser", "user",
-                    "getTrainer"
+            return Class.forName(
+                    "com.cobblemon.mod.common.api.pokemon.experience.BattleExperienceSource"
             );
-            if (m != null) {
-                Object o = m.invoke(obj);
-                if (o instanceof ServerPlayer sp) {
-                    return sp;
-                }
-            }
-        } catch (Throwable ignored) {}
-        return null;
-    }
-
-    private static UUID extractPlayerId(Object obj) {
-        if (obj == null) return null;
-        String[] candidates = {
-                "getPlayerId", "getPlayerUUID", "getUuid", "getUUID", "getPlayerUuid", "playerId"
-        };
-        for (String name : candidates) {
-            try {
-                Method m = findAny(obj.getClass(), name);
-                if (m == null) continue;
-                Object o = m.invoke(obj);
-                if (o instanceof UUID u) return u;
-                if (o instanceof String s) {
-                    try {
-                        return UUID.fromString(s);
-                    } catch (IllegalArgumentException ignored) {}
-                }
-            } catch (Throwable ignored) {}
+        } catch (ClassNotFoundException ignored) {
+            return null; // Fallback über den Klassennamen
         }
-        return null;
     }
 
-    private static ServerLevel extractServerLevel(Object ev, Object src, MinecraftServer server) {
-        // a) Level im Event
-        try {
-            Method m = findAny(ev.getClass(), "getLevel", "getWorld", "level", "world");
-            if (m != null) {
-                Object o = m.invoke(ev);
-                if (o instanceof ServerLevel sl) {
-                    return sl;
-                }
-            }
-        } catch (Throwable ignored) {}
-
-        // b) Level in der Source
-        try {
-            Method m = findAny(src.getClass(), "getLevel", "getWorld", "level", "world");
-            if (m != null) {
-                Object o = m.invoke(src);
-                if (o instanceof ServerLevel sl) {
-                    return sl;
-                }
-            }
-        } catch (Throwable ignored) {}
-
-        // c) Fallback: Overworld
-        try {
-            return server.overworld();
-        } catch (Throwable ignored) {}
+    /** Prüft möglichst robust, ob die Source Battle-XP ist. */
+    private static boolean isBattleExperienceSource(Object src) {
+        if (BATTLE_SOURCE_CLASS != null && BATTLE_SOURCE_CLASS.isInstance(src)) {
+            return true;
+        }
 
-        return null;
+        String name = src.getClass().getName().toLowerCase(Locale.ROOT);
+        return name.contains("battle");
     }
 
     /* ------------------------------------------------------------------ */
-    /* Pokemon / Owner                                                    */
+    /* Reflection-Helper                                                  */
     /* ------------------------------------------------------------------ */
 
-    private static Object extractPokemon(Object ev) {
-        if (ev == null) return null;
-        // Versuche getPokemon()
-        try {
-            Method m = findAny(ev.getClass(), "getPokemon", "pokemon");
-            if (m != null) {
-                return m.invoke(ev);
-            }
-        } catch (Throwable ignored) {}
-        return null;
-    }
-
-    /**
-     * Versucht über das Pokemon den Besitzer (ServerPlayer) herauszufinden.
-     * Wir probieren verschiedene übliche Methoden/Patterns:
-     *  - getOwnerId(), getOwnerUUID() -> UUID
-     *  - getOwner() -> ServerPlayer oder etwas, das einen Spieler referenziert
-     */
-    private static ServerPlayer extractPlayerFromPokemon(Object pokemon, MinecraftServer server) {
-        if (pokemon == null || server == null) return null;
-
-        // 1) UUID-basierte Owner-Methoden
-        String[] idMethods = {
-                "getOwnerId", "getOwnerUUID", "getOwnerUuid", "getOwnerPlayerUUID"
-        };
-        for (String name : idMethods) {
-            try {
-                Method m = findAny(pokemon.getClass(), name);
-                if (m == null) continue;
-                Object o = m.invoke(pokemon);
-                UUID uuid = null;
-                if (o instanceof UUID u) {
-                    uuid = u;
-                } else if (o instanceof String s) {
-                    try {
-                        uuid = UUID.fromString(s);
-                    } catch (IllegalArgumentException ignored) {}
-                }
-                if (uuid != null) {
-                    ServerPlayer sp = server.getPlayerList().getPlayer(uuid);
-                    if (sp != null) {
-                        if (DebugConfig.get().debugXpHook) {
-                            EvolutionBoost.LOGGER.info(
-                                    "[compat][xp][debug] resolved player via Pokemon owner UUID {} -> {}",
-                                    uuid, sp.getGameProfile().getName()
-                            );
-                        }
-                        return sp;
-                    }
-                }
-            } catch (Throwable ignored) {}
-        }
-
-        // 2) Direktes Owner-Objekt
-        String[] ownerMethods = {
-                "getOwner", "owner", "getOwnerPlayer", "ownerPlayer"
-        };
-        for (String name : ownerMethods) {
-            try {
-                Method m = findAny(pokemon.getClass(), name);
-                if (m == null) continue;
-                Object o = m.invoke(pokemon);
-                if (o instanceof ServerPlayer sp) {
-                    if (DebugConfig.get().debugXpHook) {
-                        EvolutionBoost.LOGGER.info(
-                                "[compat][xp][debug] resolved player via Pokemon owner object {}",
-                                sp.getGameProfile().getName()
-                        );
-                    }
-                    return sp;
-                }
-                // Falls in Zukunft etwas wie "PokemonOwner" zurückkommt,
-                // könnte man hier weitere Reflection ansetzen (getPlayer(), getUuid(), ...)
-            } catch (Throwable ignored) {}
-        }
-
-        return null;
+    private static Object invokeNoArg(Object target, String... methodNames) {
+        return ReflectUtils.invokeFirst(target, methodNames);
     }
 }
@@ -20,6 +20,7 @@ import net.minecraft.world.item.ItemStack;
 
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Trinkets integration for all EvolutionBoost equipable items.
@@ -82,6 +83,17 @@ public final class TrinketsCompat {
         return hasTrinketEquipped(player, ModItems.XP_CHARM);
     }
 
+    /** Ruft {@code action} für jeden belegten Trinket-Slot des Spielers auf. */
+    public static void forEachEquipped(Player player, Consumer<ItemStack> action) {
+        try {
+            Optional<TrinketComponent> component = TrinketsApi.getTrinketComponent(player);
+            if (component.isEmpty()) return;
+            component.get().forEach((slotRef, stack) -> {
+                if (!stack.isEmpty()) action.accept(stack);
+            });
+        } catch (Exception ignored) {}
+    }
+
     public static boolean hasActiveTimedShinyCharm(Player player) {
         try {
             Optional<TrinketComponent> component = TrinketsApi.getTrinketComponent(player);
@@ -122,7 +134,7 @@ public final class TrinketsCompat {
 
     // ==================== Trinket Implementations ====================
 
-    /** Generic Charm - no special effect on equip */
+    /** Generic Charm - no special effect on equip, only invalidates the cached CharmState */
     private static class CharmTrinket implements Trinket {
         private final SoundEvent equipSound;
 
@@ -130,6 +142,16 @@ public final class TrinketsCompat {
             this.equipSound = equipSound;
         }
 
+        @Override
+        public void onEquip(ItemStack stack, SlotReference slot, LivingEntity entity) {
+            if (entity instanceof Player player) CharmState.markDirty(player);
+        }
+
+        @Override
+        public void onUnequip(ItemStack stack, SlotReference slot, LivingEntity entity) {
+            if (entity instanceof Player player) CharmState.markDirty(player);
+        }
+
         @Override
         public Holder<SoundEvent> getEquipSound(ItemStack stack, SlotReference slot, LivingEntity entity) {
             return Holder.direct(equipSound);
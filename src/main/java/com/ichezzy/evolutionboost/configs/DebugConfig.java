@@ -43,6 +43,9 @@ public final class DebugConfig {
     /** Quest-System Debug-Logging */
     public boolean debugQuests = false;
 
+    /** Quest-Packs (quests/packs/*.json) bei Änderungen automatisch neu laden (WatchService) */
+    public boolean questPackHotReload = true;
+
     // ==================== Pokédex System Debug ====================
 
     /** Pokédex-System Debug-Logging (zeigt neue Fänge) */
@@ -56,11 +59,46 @@ public final class DebugConfig {
     // ==================== General Logging ====================
 
     /**
-     * Boost-Anwendungs-Logging (zeigt wenn Boosts angewendet werden).
+     * Boost-Anwendungs-Logging (eine INFO-Zeile pro geboostetem Event).
      * z.B. "[compat][xp] boosted battle XP in event:christmas from 458 to 687 (mult=1.5)"
-     * Standardmäßig AN, da es nützlich ist zu sehen wann Boosts wirken.
+     * Standardmäßig AUS – für Auswertungen gibt es die Zähler (/eb boost stats, logs/boosts/).
+     */
+    public boolean logBoostApplications = false;
+
+    // ==================== Performance ====================
+
+    /**
+     * Intervall (Minuten) für die Hook-Laufzeit-Zusammenfassung im Log ("[perf] ...").
+     * 0 = aus. Live-Werte jederzeit über /eb admin perf.
+     */
+    public int perfSummaryIntervalMinutes = 10;
+
+    /**
+     * Zeitbudget (Mikrosekunden) pro Tick für aufgeschobene Hook-Arbeit
+     * (Quest-Fortschritt, Random-Quests, Dex-Milestones). Rest läuft im nächsten Tick.
+     */
+    public int deferredWorkBudgetMicros = 2000;
+
+    /** Intervall (Minuten) für den Boost-Zähler-Snapshot nach logs/boosts/ (JSON + CSV). 0 = aus. */
+    public int boostStatsSnapshotMinutes = 5;
+
+    /**
+     * Quest-Fortschritt ausgeloggter Spieler, der noch im Speicher bleibt (LRU).
+     * Online-Spieler sind immer geladen; alles andere wird bei Bedarf von Disk nachgeladen.
+     */
+    public int questDataCacheSize = 128;
+
+    // ==================== Hook Error Reporting ====================
+
+    /** Gleiche Hook-Fehler (Hook + Exception + Message) werden höchstens einmal pro Fenster geloggt, mit Anzahl. */
+    public int hookErrorWindowSeconds = 60;
+
+    /**
+     * Fehler pro Fenster, ab denen ein Hook als dauerhaft defekt gilt:
+     * erst wird der typisierte Cobblemon-Pfad abgeschaltet (Reflection-Fallback),
+     * beim nächsten Mal der Hook selbst (bis zum Neustart). 0 = nie abschalten.
      */
-    public boolean logBoostApplications = true;
+    public int hookErrorTripThreshold = 200;
 
     // ==================== Singleton & IO ====================
 
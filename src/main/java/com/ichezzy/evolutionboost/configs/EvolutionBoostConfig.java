@@ -1,6 +1,7 @@
 package com.ichezzy.evolutionboost.configs;
 
 import com.google.gson.*;
+import com.ichezzy.evolutionboost.util.AsyncFileWriter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 
@@ -168,6 +169,45 @@ public final class EvolutionBoostConfig {
         } catch (Exception ignored) {}
     }
 
+    /**
+     * Write-Behind-Variante von save(): mehrere Änderungen kurz hintereinander
+     * (z.B. mehrere Dim-Boosts per Script) ergeben nur einen Schreibvorgang auf dem IO-Thread.
+     * Beim Server-Stop wird über AsyncFileWriter.flush() alles Ausstehende geschrieben.
+     */
+    public static void saveAsync() {
+        AsyncFileWriter.schedule(Path.of("config", "evolutionboost", "evolutionboost.json"), () -> {
+            synchronized (EvolutionBoostConfig.class) {
+                return INSTANCE != null ? GSON.toJson(INSTANCE) : null;
+            }
+        });
+    }
+
+    // ==================== Dimension-Boosts (thread-sicher ggü. saveAsync) ====================
+
+    public static synchronized void putDimensionBoost(String dimKey, String type, double value) {
+        get().dimensionBoosts.computeIfAbsent(dimKey, k -> new LinkedHashMap<>()).put(type, value);
+    }
+
+    /** @return true, wenn ein Eintrag entfernt wurde */
+    public static synchronized boolean removeDimensionBoost(String dimKey, String type) {
+        Map<String, Map<String, Double>> all = get().dimensionBoosts;
+        Map<String, Double> byType = all.get(dimKey);
+        if (byType == null) return false;
+        boolean removed = byType.remove(type) != null;
+        if (byType.isEmpty()) {
+            all.remove(dimKey);
+        }
+        return removed;
+    }
+
+    public static synchronized void removeDimensionBoosts(String dimKey) {
+        get().dimensionBoosts.remove(dimKey);
+    }
+
+    public static synchronized void clearDimensionBoosts() {
+        get().dimensionBoosts.clear();
+    }
+
     private static EvolutionBoostConfig defaults() {
         EvolutionBoostConfig c = new EvolutionBoostConfig();
 
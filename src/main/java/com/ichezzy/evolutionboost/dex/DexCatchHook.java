@@ -7,9 +7,14 @@ import com.cobblemon.mod.common.api.events.pokemon.PokedexDataChangedEvent;
 import com.cobblemon.mod.common.api.pokedex.PokedexEntryProgress;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.configs.DebugConfig;
+import com.ichezzy.evolutionboost.util.DeferredWork;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.UUID;
+
 /**
  * Hook für Cobblemon Pokédex Events.
  * Registriert Pokédex-Updates (Starter, Fänge, Entwicklungen, Trades - alles!).
@@ -17,6 +22,9 @@ import net.minecraft.server.level.ServerPlayer;
 public final class DexCatchHook {
     private DexCatchHook() {}
 
+    private static final HookErrors.Channel ERRORS =
+            HookErrors.channel("dex", "[dex] Error in onPokedexChanged", true);
+
     public static void register() {
         // POKEDEX_DATA_CHANGED_POST wird gefeuert wenn:
         // - Ein Pokémon gefangen wird
@@ -24,10 +32,13 @@ public final class DexCatchHook {
         // - Ein Pokémon durch Trade erhalten wird
         // - Ein Pokémon sich entwickelt
         // - Basically jede Änderung am Pokédex
-        CobblemonEvents.POKEDEX_DATA_CHANGED_POST.subscribe(Priority.NORMAL, DexCatchHook::onPokedexChanged);
+        CobblemonEvents.POKEDEX_DATA_CHANGED_POST.subscribe(Priority.NORMAL, HookMetrics.timed("dex", DexCatchHook::onPokedexChanged));
         EvolutionBoost.LOGGER.info("[dex] DexCatchHook registered (using POKEDEX_DATA_CHANGED_POST).");
     }
 
+    /** Schlüssel für {@link DeferredWork#merge}. */
+    private record MilestoneCheck(UUID playerId) {}
+
     private static Unit onPokedexChanged(PokedexDataChangedEvent.Post event) {
         try {
             // Nur bei CAUGHT-Status reagieren (nicht bei ENCOUNTERED)
@@ -50,11 +61,16 @@ public final class DexCatchHook {
                         player.getGameProfile().getName(), species);
             }
 
-            // Milestone-Checks durchführen
-            DexDataManager.checkMilestonesAndNotify(player);
+            // Milestone-Checks am Tick-Ende (mehrere Fänge im selben Tick -> ein Check)
+            DeferredWork.merge(new MilestoneCheck(player.getUUID()), 1, (key, n) -> {
+                ServerPlayer online = server.getPlayerList().getPlayer(key.playerId());
+                if (online != null) {
+                    DexDataManager.checkMilestonesAndNotify(online);
+                }
+            });
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[dex] Error in onPokedexChanged: {}", e.getMessage());
+            ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
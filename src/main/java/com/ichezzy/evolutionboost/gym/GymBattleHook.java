@@ -7,6 +7,8 @@ import com.cobblemon.mod.common.api.events.CobblemonEvents;
 import com.cobblemon.mod.common.api.events.battles.BattleVictoryEvent;
 import com.cobblemon.mod.common.battles.actor.PlayerBattleActor;
 import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -21,8 +23,11 @@ public final class GymBattleHook {
 
     private GymBattleHook() {}
 
+    private static final HookErrors.Channel ERRORS =
+            HookErrors.channel("gym-victory", "[gym] Error in onBattleVictory", true);
+
     public static void register() {
-        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, GymBattleHook::onBattleVictory);
+        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, HookMetrics.timed("gym-victory", GymBattleHook::onBattleVictory));
         EvolutionBoost.LOGGER.info("[gym] GymBattleHook registered");
     }
 
@@ -115,7 +120,7 @@ public final class GymBattleHook {
             mgr.finishBattle(activeBattle, result, challenger, leader);
 
         } catch (Exception e) {
-            EvolutionBoost.LOGGER.debug("[gym] Error in onBattleVictory: {}", e.getMessage());
+            ERRORS.report(e);
         }
 
         return Unit.INSTANCE;
@@ -3,54 +3,108 @@ package com.ichezzy.evolutionboost.hud;
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.boost.BoostManager;
 import com.ichezzy.evolutionboost.boost.BoostType;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Synchronisiert NUR die dimensionalen Multiplikatoren zu den Clients,
  * damit dort ein kleines HUD angezeigt werden kann.
+ *
+ * Änderungsgetrieben: Pro Spieler wird gemerkt, was zuletzt gesendet wurde.
+ * Gesendet wird nur bei Join, Dimensionswechsel/Respawn oder wenn der BoostManager
+ * eine Änderung meldet – und auch dann nur, wenn sich die Werte wirklich unterscheiden.
  */
 public final class BoostHudSync {
 
-    private static int tickCounter = 0;
+    private static final BoostType[] TYPES = BoostType.values();
+
+    /** Zuletzt an den Spieler gesendete Werte (Index = BoostType-Ordinal). Nur Server-Thread. */
+    private static final Map<UUID, double[]> LAST_SENT = new HashMap<>();
+
+    /** Sequenznummer für DimBoostHudPayload (bleibt positiv, damit der Varint kurz ist). */
+    private static int nextSequence = 0;
+
+    /** Vom BoostManager-Listener gesetzt; im nächsten Tick für alle Spieler abgearbeitet. */
+    private static volatile boolean dirty = false;
 
     private BoostHudSync() {}
 
     public static void init() {
+        BoostManager.addChangeListener(() -> dirty = true);
+
         ServerTickEvents.END_SERVER_TICK.register(BoostHudSync::onServerTick);
-        EvolutionBoost.LOGGER.info("[EvolutionBoost] BoostHudSync (dim-only) initialised.");
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (handler == null || handler.player == null) return;
+            // Client setzt beim Join alles auf 1.0 zurück -> immer neu senden
+            LAST_SENT.remove(handler.player.getUUID());
+            syncIfChanged(BoostManager.get(server), handler.player);
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler != null && handler.player != null) {
+                LAST_SENT.remove(handler.player.getUUID());
+            }
+        });
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+                syncIfChanged(BoostManager.get(player.server), player));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) ->
+                syncIfChanged(BoostManager.get(newPlayer.server), newPlayer));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> LAST_SENT.clear());
+
+        EvolutionBoost.LOGGER.info("[EvolutionBoost] BoostHudSync (dim-only, change-driven) initialised.");
     }
 
     private static void onServerTick(MinecraftServer server) {
-        tickCounter++;
-        // alle 40 Ticks ~ 2 Sekunden
-        if (tickCounter % 40 != 0) return;
+        if (!dirty) return;
+        dirty = false;
 
         BoostManager manager = BoostManager.get(server);
         for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-            sendSnapshot(manager, player);
+            syncIfChanged(manager, player);
         }
     }
 
     /**
      * Schickt pro BoostType genau EINEN Wert:
      * den Dim-Multiplikator in der aktuellen Dimension des Spielers.
+     * Nur wenn sich mindestens ein Wert gegenüber dem letzten Paket geändert hat.
      */
-    private static void sendSnapshot(BoostManager manager, ServerPlayer player) {
+    private static void syncIfChanged(BoostManager manager, ServerPlayer player) {
         ResourceKey<Level> dimKey = player.serverLevel().dimension();
+        double[] last = LAST_SENT.get(player.getUUID());
+
+        if (last != null) {
+            boolean changed = false;
+            for (int i = 0; i < TYPES.length; i++) {
+                if (Double.compare(last[i], manager.getDimensionMultiplier(TYPES[i], dimKey)) != 0) {
+                    changed = true;
+                    break;
+                }
+            }
+            if (!changed) return;
+        }
 
-        double[] dims = new double[BoostType.values().length];
-        for (int i = 0; i < BoostType.values().length; i++) {
-            BoostType type = BoostType.values()[i];
-            dims[i] = manager.getDimensionMultiplier(type, dimKey);
+        double[] dims = new double[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            dims[i] = manager.getDimensionMultiplier(TYPES[i], dimKey);
         }
+        LAST_SENT.put(player.getUUID(), dims);
 
-        DimBoostHudPayload payload = new DimBoostHudPayload(dims);
         // NEUE API: nur 2 Argumente (Player + Payload)
-        ServerPlayNetworking.send(player, payload);
+        int sequence = nextSequence;
+        nextSequence = (nextSequence + 1) & Integer.MAX_VALUE;
+        ServerPlayNetworking.send(player, DimBoostHudPayload.of(sequence, dims));
     }
 }
@@ -10,8 +10,21 @@ import net.minecraft.resources.ResourceLocation;
 /**
  * S2C-Payload: schickt pro BoostType genau einen dimensionalen Multiplikator
  * (für die aktuelle Dimension des Spielers).
+ *
+ * Kompaktes, versioniertes Wire-Format (v1):
+ * <pre>
+ *   byte    version
+ *   varint  sequence      (monoton steigend; Client verwirft ältere Pakete)
+ *   varint  presentMask   (Bit i = BoostType-Ordinal i weicht von 1.0 ab)
+ *   varint  fixed[n]      (n = bitCount(presentMask), Multiplikator × 1000)
+ * </pre>
+ * Im Normalfall (alles 1.0) sind das 3 Bytes statt 32.
+ *
+ * @param sequence    Sequenznummer; {@link #IGNORED_SEQUENCE} für nicht lesbare Pakete
+ * @param presentMask Bitmaske der vorhandenen Einträge
+ * @param fixed       Fixed-Point-Werte (nur die vorhandenen Einträge, in Ordinal-Reihenfolge)
  */
-public record DimBoostHudPayload(double[] multipliers) implements CustomPacketPayload {
+public record DimBoostHudPayload(int sequence, int presentMask, int[] fixed) implements CustomPacketPayload {
 
     // evolutionboost:dim_boost_hud
     public static final ResourceLocation ID =
@@ -19,29 +32,74 @@ public record DimBoostHudPayload(double[] multipliers) implements CustomPacketPa
 
     public static final Type<DimBoostHudPayload> TYPE = new Type<>(ID);
 
-    // Codec: schreibt/liest genau BoostType.values().length Doubles
+    public static final int WIRE_VERSION = 1;
+
+    /** Multiplikatoren werden mit 3 Nachkommastellen übertragen (HUD zeigt 2). */
+    public static final int FIXED_SCALE = 1000;
+
+    /** Markiert Pakete mit unbekannter Version – der Client ignoriert sie. */
+    public static final int IGNORED_SEQUENCE = -1;
+
+    private static final int TYPE_COUNT = BoostType.values().length;
+    private static final int[] NO_VALUES = new int[0];
+
     public static final StreamCodec<RegistryFriendlyByteBuf, DimBoostHudPayload> CODEC =
             new StreamCodec<>() {
                 @Override
                 public DimBoostHudPayload decode(RegistryFriendlyByteBuf buf) {
-                    double[] values = new double[BoostType.values().length];
-                    for (int i = 0; i < values.length; i++) {
-                        values[i] = buf.readDouble();
+                    int version = buf.readByte();
+                    if (version != WIRE_VERSION) {
+                        // neuere/ältere Server-Version: Rest überspringen statt zu crashen
+                        buf.skipBytes(buf.readableBytes());
+                        return new DimBoostHudPayload(IGNORED_SEQUENCE, 0, NO_VALUES);
+                    }
+                    int sequence = buf.readVarInt();
+                    int mask = buf.readVarInt();
+                    int count = Integer.bitCount(mask);
+                    int[] values = count == 0 ? NO_VALUES : new int[count];
+                    for (int i = 0; i < count; i++) {
+                        values[i] = buf.readVarInt();
                     }
-                    return new DimBoostHudPayload(values);
+                    return new DimBoostHudPayload(sequence, mask, values);
                 }
 
                 @Override
                 public void encode(RegistryFriendlyByteBuf buf, DimBoostHudPayload payload) {
-                    double[] values = payload.multipliers();
-                    int len = BoostType.values().length;
-                    for (int i = 0; i < len; i++) {
-                        double v = (i < values.length) ? values[i] : 1.0D;
-                        buf.writeDouble(v);
+                    buf.writeByte(WIRE_VERSION);
+                    buf.writeVarInt(payload.sequence());
+                    buf.writeVarInt(payload.presentMask());
+                    for (int v : payload.fixed()) {
+                        buf.writeVarInt(v);
                     }
                 }
             };
 
+    /**
+     * Baut ein Payload aus einem dichten Array (Index = BoostType-Ordinal).
+     * Werte, die auf 1.0 runden, werden nicht übertragen.
+     */
+    public static DimBoostHudPayload of(int sequence, double[] multipliers) {
+        int len = Math.min(TYPE_COUNT, multipliers.length);
+        int mask = 0;
+        int[] scratch = new int[len];
+        int count = 0;
+        for (int i = 0; i < len; i++) {
+            int fixedValue = (int) Math.round(Math.max(0.0, multipliers[i]) * FIXED_SCALE);
+            if (fixedValue == FIXED_SCALE) continue;
+            mask |= 1 << i;
+            scratch[count++] = fixedValue;
+        }
+        int[] values = count == 0 ? NO_VALUES : java.util.Arrays.copyOf(scratch, count);
+        return new DimBoostHudPayload(sequence, mask, values);
+    }
+
+    /** Multiplikator für BoostType-Ordinal {@code ordinal} (1.0, wenn nicht übertragen). */
+    public double multiplier(int ordinal) {
+        int bit = 1 << ordinal;
+        if ((presentMask & bit) == 0) return 1.0D;
+        return fixed[Integer.bitCount(presentMask & (bit - 1))] / (double) FIXED_SCALE;
+    }
+
     @Override
     public Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -0,0 +1,129 @@
+package com.ichezzy.evolutionboost.hud;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.BossEvent;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bossbar mit Delta-Updates und event-basierter Spieler-Zuordnung.
+ *
+ * - Titel/Progress werden gecached; Pakete gehen nur raus, wenn sich der sichtbare Text
+ *   oder die Balkenposition (in Pixel-Schritten) ändert.
+ * - Mitgliedschaft wird über Join/Disconnect/Respawn/Dimensionswechsel gepflegt
+ *   statt jede Sekunde alle Spieler abzufragen.
+ *
+ * Wird von BoostManager (GLOBAL, alle Spieler) und ChristmasWeatherManager
+ * (nur event:christmas) verwendet. Alle Aufrufe laufen auf dem Server-Thread.
+ */
+public final class TrackedBossbar {
+
+    /** Breite des Vanilla-Bossbar-Balkens in Pixeln – feiner kann der Client nicht darstellen. */
+    private static final int PROGRESS_STEPS = 182;
+
+    /** Alle aktuell sichtbaren Bossbars (für die Spieler-Events). */
+    private static final List<TrackedBossbar> LIVE = new ArrayList<>();
+
+    private final ServerBossEvent bar;
+    /** null = alle Spieler, sonst nur Spieler in dieser Dimension. */
+    private final ResourceKey<Level> dimensionOrNull;
+
+    private String lastTitle;
+    private int lastProgressStep = -1;
+
+    private TrackedBossbar(ServerBossEvent bar, ResourceKey<Level> dimensionOrNull) {
+        this.bar = bar;
+        this.dimensionOrNull = dimensionOrNull;
+    }
+
+    public static void init() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (handler != null && handler.player != null) onPlayerPresent(handler.player);
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler != null && handler.player != null) onPlayerGone(handler.player);
+        });
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
+            onPlayerGone(oldPlayer);
+            onPlayerPresent(newPlayer);
+        });
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+            onPlayerGone(player);
+            onPlayerPresent(player);
+        });
+        // Integrierter Server: Bars der alten Welt nicht in die nächste mitnehmen
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> LIVE.clear());
+        EvolutionBoost.LOGGER.info("[EvolutionBoost] TrackedBossbar membership listeners registered.");
+    }
+
+    /**
+     * Erstellt eine Bossbar und fügt einmalig alle passenden Online-Spieler hinzu.
+     * Danach wird die Mitgliedschaft nur noch über Events gepflegt.
+     */
+    public static TrackedBossbar create(MinecraftServer server, Component title,
+                                        BossEvent.BossBarColor color, BossEvent.BossBarOverlay overlay,
+                                        ResourceKey<Level> dimensionOrNull) {
+        TrackedBossbar tracked = new TrackedBossbar(new ServerBossEvent(title, color, overlay), dimensionOrNull);
+        for (ServerPlayer sp : server.getPlayerList().getPlayers()) {
+            if (tracked.accepts(sp)) {
+                tracked.bar.addPlayer(sp);
+            }
+        }
+        LIVE.add(tracked);
+        return tracked;
+    }
+
+    /**
+     * Aktualisiert Titel und Fortschritt. Der Component wird nur gebaut und gesendet,
+     * wenn sich {@code titleText} geändert hat; der Progress nur bei neuer Pixel-Position.
+     */
+    public void update(String titleText, Function<String, Component> renderer, float progress) {
+        if (!titleText.equals(lastTitle)) {
+            lastTitle = titleText;
+            bar.setName(renderer.apply(titleText));
+        }
+
+        float clamped = Math.max(0f, Math.min(1f, progress));
+        int step = Math.round(clamped * PROGRESS_STEPS);
+        if (step != lastProgressStep) {
+            lastProgressStep = step;
+            bar.setProgress((float) step / PROGRESS_STEPS);
+        }
+    }
+
+    /** Entfernt die Bossbar bei allen Spielern und meldet sie ab. */
+    public void remove() {
+        bar.removeAllPlayers();
+        LIVE.remove(this);
+    }
+
+    private boolean accepts(ServerPlayer player) {
+        return dimensionOrNull == null || player.level().dimension() == dimensionOrNull;
+    }
+
+    private static void onPlayerPresent(ServerPlayer player) {
+        for (TrackedBossbar tracked : LIVE) {
+            if (tracked.accepts(player)) {
+                tracked.bar.addPlayer(player);
+            }
+        }
+    }
+
+    private static void onPlayerGone(ServerPlayer player) {
+        for (TrackedBossbar tracked : LIVE) {
+            tracked.bar.removePlayer(player);
+        }
+    }
+}
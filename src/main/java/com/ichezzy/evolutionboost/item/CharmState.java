@@ -0,0 +1,154 @@
+package com.ichezzy.evolutionboost.item;
+
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Charm-Zustand pro Spieler als Bitset.
+ *
+ * Statt bei jeder Abfrage alle Inventar-Slots plus Trinkets zu scannen (und bei Timed-Charms
+ * jedes Mal das NBT zu kopieren), wird der Zustand einmal berechnet und gemerkt. Neu berechnet
+ * wird nur, wenn
+ * - das Inventar sich ändert (InventoryMixin -> markDirty),
+ * - ein Charm im Trinket-Slot an-/abgelegt wird (TrinketsCompat -> markDirty),
+ * - der früheste Ablaufzeitpunkt eines aktiven Timed-Charms erreicht ist.
+ *
+ * Alle "hat der Spieler X?"-Abfragen sind danach ein Bit-Test.
+ */
+public final class CharmState {
+
+    // ---- Shiny Charm ----
+    public static final int SHINY_PERMANENT = 1;
+    public static final int SHINY_TIMED = 1 << 1;
+    public static final int SHINY_TRINKET = 1 << 2;
+    public static final int SHINY_TIMED_TRINKET = 1 << 3;
+
+    // ---- XP Charm ----
+    public static final int XP_PERMANENT = 1 << 4;
+    public static final int XP_TIMED = 1 << 5;
+    public static final int XP_TRINKET = 1 << 6;
+    public static final int XP_TIMED_TRINKET = 1 << 7;
+
+    /** Mindestens ein abgelaufener Timed-Charm (Inventar oder Trinket). */
+    public static final int EXPIRED = 1 << 8;
+
+    public static final int ANY_SHINY = SHINY_PERMANENT | SHINY_TIMED | SHINY_TRINKET | SHINY_TIMED_TRINKET;
+    public static final int ANY_XP = XP_PERMANENT | XP_TIMED | XP_TRINKET | XP_TIMED_TRINKET;
+
+    /** Noch nicht aktivierte Timed-Charms werden spätestens nach dieser Zeit neu bewertet. */
+    private static final long ACTIVATION_RECHECK_MS = 1000L;
+
+    private static final boolean TRINKETS_LOADED = FabricLoader.getInstance().isModLoaded("trinkets");
+
+    private static final Map<UUID, Entry> STATES = new ConcurrentHashMap<>();
+
+    private CharmState() {}
+
+    private static final class Entry {
+        volatile boolean dirty = true;
+        int bits;
+        /** Zeitpunkt, ab dem der Zustand spätestens neu berechnet werden muss. */
+        long recheckAtMs = Long.MAX_VALUE;
+    }
+
+    public static void init() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler != null && handler.player != null) {
+                STATES.remove(handler.player.getUUID());
+            }
+        });
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> markDirty(newPlayer));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> STATES.clear());
+    }
+
+    /** Markiert den Zustand als veraltet; die nächste Abfrage rechnet neu. Client-Spieler werden ignoriert. */
+    public static void markDirty(Player player) {
+        if (!(player instanceof ServerPlayer)) return;
+        Entry e = STATES.get(player.getUUID());
+        if (e != null) {
+            e.dirty = true;
+        }
+    }
+
+    /** True, wenn mindestens eines der Bits in {@code mask} gesetzt ist. */
+    public static boolean has(ServerPlayer player, int mask) {
+        return (get(player) & mask) != 0;
+    }
+
+    /** Aktuelles Bitset des Spielers (rechnet nur neu, wenn nötig). */
+    public static int get(ServerPlayer player) {
+        Entry e = STATES.computeIfAbsent(player.getUUID(), k -> new Entry());
+        long now = System.currentTimeMillis();
+        if (e.dirty || now >= e.recheckAtMs) {
+            e.dirty = false;
+            recompute(player, e, now);
+        }
+        return e.bits;
+    }
+
+    private static void recompute(ServerPlayer player, Entry e, long now) {
+        long[] recheckAt = {Long.MAX_VALUE};
+        int bits = 0;
+
+        Inventory inv = player.getInventory();
+        for (int i = 0; i < inv.getContainerSize(); i++) {
+            bits |= classify(inv.getItem(i), false, now, recheckAt);
+        }
+
+        if (TRINKETS_LOADED) {
+            try {
+                int[] trinketBits = {0};
+                com.ichezzy.evolutionboost.compat.trinkets.TrinketsCompat.forEachEquipped(player,
+                        stack -> trinketBits[0] |= classify(stack, true, now, recheckAt));
+                bits |= trinketBits[0];
+            } catch (NoClassDefFoundError | Exception ignored) {}
+        }
+
+        e.bits = bits;
+        e.recheckAtMs = recheckAt[0];
+    }
+
+    /** Bits für einen einzelnen Stack; merkt sich den frühesten Zeitpunkt für eine Neuberechnung. */
+    private static int classify(ItemStack stack, boolean trinket, long now, long[] recheckAt) {
+        if (stack.isEmpty()) return 0;
+
+        if (stack.getItem() instanceof ShinyCharmItem) {
+            return trinket ? SHINY_TRINKET : SHINY_PERMANENT;
+        }
+        if (stack.getItem() instanceof XPCharmItem) {
+            return trinket ? XP_TRINKET : XP_PERMANENT;
+        }
+
+        int activeBit;
+        if (stack.getItem() instanceof TimedShinyCharmItem) {
+            activeBit = trinket ? SHINY_TIMED_TRINKET : SHINY_TIMED;
+        } else if (stack.getItem() instanceof TimedXPCharmItem) {
+            activeBit = trinket ? XP_TIMED_TRINKET : XP_TIMED;
+        } else {
+            return 0;
+        }
+
+        long expiresAt = ((TimedItem) stack.getItem()).getExpirationTime(stack);
+        if (expiresAt <= 0) {
+            // Timer startet erst beim nächsten inventoryTick -> bald nochmal schauen
+            recheckAt[0] = Math.min(recheckAt[0], now + ACTIVATION_RECHECK_MS);
+            return 0;
+        }
+        if (now > expiresAt) {
+            return EXPIRED;
+        }
+        // läuft bei expiresAt + 1 ab (isActive: now <= expiresAt)
+        recheckAt[0] = Math.min(recheckAt[0], expiresAt + 1);
+        return activeBit;
+    }
+}
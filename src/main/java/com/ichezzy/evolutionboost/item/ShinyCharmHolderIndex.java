@@ -0,0 +1,193 @@
+package com.ichezzy.evolutionboost.item;
+
+import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Räumlicher Index aller Spieler, die gerade einen aktiven Shiny Charm tragen.
+ *
+ * Pro Dimension ein Grid aus würfelförmigen Zellen (Kantenlänge = Charm-Radius, min. 16 Blöcke).
+ * Ein Spawn prüft damit nur 3–4 Zellen pro Achse statt einer Entity-AABB-Suche plus
+ * Inventar-Scan jedes Spielers in der Nähe. Ohne Charm-Träger in der Dimension kostet
+ * die Abfrage einen einzigen Map-Lookup.
+ *
+ * Gepflegt im END_SERVER_TICK: Zellwechsel werden sofort nachgezogen; der Charm-Status
+ * kommt aus dem CharmState-Bitset (Bit-Test, neu berechnet nur bei Inventar-/Trinket-Änderung).
+ * Nur Server-Thread.
+ */
+public final class ShinyCharmHolderIndex {
+
+    private static final int MIN_CELL_SIZE = 16;
+
+    /** Dimension -> (Zell-Key -> Spieler-UUIDs in dieser Zelle). */
+    private static final Map<ResourceKey<Level>, Long2ObjectMap<List<UUID>>> GRIDS = new HashMap<>();
+
+    /** Alle Online-Spieler mit ihrem zuletzt eingetragenen Zustand. */
+    private static final Map<UUID, Tracked> TRACKED = new HashMap<>();
+
+    /** Aktuelle Zellgröße; ändert sich nur, wenn der Radius in der Config geändert wird. */
+    private static int cellSize = MIN_CELL_SIZE;
+
+    private ShinyCharmHolderIndex() {}
+
+    private static final class Tracked {
+        boolean holder;
+        ResourceKey<Level> dim;
+        long cell;
+        boolean indexed;
+    }
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(ShinyCharmHolderIndex::onServerTick);
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (handler == null || handler.player == null) return;
+            Tracked t = TRACKED.computeIfAbsent(handler.player.getUUID(), k -> new Tracked());
+            t.holder = ShinyCharmItem.hasShinyCharm(handler.player);
+            update(handler.player, t);
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (handler == null || handler.player == null) return;
+            Tracked t = TRACKED.remove(handler.player.getUUID());
+            if (t != null) unindex(handler.player.getUUID(), t);
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            GRIDS.clear();
+            TRACKED.clear();
+        });
+    }
+
+    /** Zellgröße passend zum konfigurierten Radius. */
+    private static int desiredCellSize() {
+        double radius = EvolutionBoostConfig.get().shinyCharmRadius;
+        if (radius <= 0) radius = 64.0;
+        return Math.max(MIN_CELL_SIZE, Mth.ceil(radius));
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        int desired = desiredCellSize();
+        if (desired != cellSize) {
+            // Radius geändert -> komplett neu einsortieren
+            cellSize = desired;
+            GRIDS.clear();
+            for (Tracked t : TRACKED.values()) {
+                t.indexed = false;
+            }
+        }
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            Tracked t = TRACKED.computeIfAbsent(player.getUUID(), k -> new Tracked());
+            t.holder = ShinyCharmItem.hasShinyCharm(player);
+            update(player, t);
+        }
+    }
+
+    /** Trägt den Spieler in die richtige Zelle ein bzw. aus dem Grid aus. */
+    private static void update(ServerPlayer player, Tracked t) {
+        UUID id = player.getUUID();
+        if (!t.holder) {
+            unindex(id, t);
+            return;
+        }
+
+        ResourceKey<Level> dim = player.level().dimension();
+        long cell = cellKey(player.getBlockX(), player.getBlockY(), player.getBlockZ());
+        if (t.indexed && t.dim == dim && t.cell == cell) {
+            return;
+        }
+
+        unindex(id, t);
+        GRIDS.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(cell, k -> new ArrayList<>(2))
+                .add(id);
+        t.dim = dim;
+        t.cell = cell;
+        t.indexed = true;
+    }
+
+    private static void unindex(UUID id, Tracked t) {
+        if (!t.indexed) return;
+        t.indexed = false;
+
+        Long2ObjectMap<List<UUID>> grid = GRIDS.get(t.dim);
+        if (grid == null) return;
+        List<UUID> bucket = grid.get(t.cell);
+        if (bucket == null) return;
+        bucket.remove(id);
+        if (bucket.isEmpty()) {
+            grid.remove(t.cell);
+            if (grid.isEmpty()) {
+                GRIDS.remove(t.dim);
+            }
+        }
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return SectionPos.asLong(
+                Math.floorDiv(x, cellSize),
+                Math.floorDiv(y, cellSize),
+                Math.floorDiv(z, cellSize)
+        );
+    }
+
+    /**
+     * Erster Charm-Träger (kein Zuschauer), dessen Hitbox die Box
+     * {@code pos ± radius} schneidet – oder null.
+     */
+    public static ServerPlayer findHolderNear(ServerLevel level, BlockPos pos, double radius) {
+        Long2ObjectMap<List<UUID>> grid = GRIDS.get(level.dimension());
+        if (grid == null || grid.isEmpty()) {
+            return null;
+        }
+
+        AABB searchBox = new AABB(
+                pos.getX() - radius, pos.getY() - radius, pos.getZ() - radius,
+                pos.getX() + radius, pos.getY() + radius, pos.getZ() + radius
+        );
+
+        // Hitbox-Überstand über Zellgrenzen mit abdecken
+        int minX = Math.floorDiv(Mth.floor(searchBox.minX) - 1, cellSize);
+        int minY = Math.floorDiv(Mth.floor(searchBox.minY) - 2, cellSize);
+        int minZ = Math.floorDiv(Mth.floor(searchBox.minZ) - 1, cellSize);
+        int maxX = Math.floorDiv(Mth.floor(searchBox.maxX) + 1, cellSize);
+        int maxY = Math.floorDiv(Mth.floor(searchBox.maxY) + 1, cellSize);
+        int maxZ = Math.floorDiv(Mth.floor(searchBox.maxZ) + 1, cellSize);
+
+        MinecraftServer server = level.getServer();
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    List<UUID> bucket = grid.get(SectionPos.asLong(cx, cy, cz));
+                    if (bucket == null) continue;
+                    for (UUID id : bucket) {
+                        ServerPlayer player = server.getPlayerList().getPlayer(id);
+                        if (player == null || player.level() != level || player.isSpectator()) continue;
+                        if (player.getBoundingBox().intersects(searchBox)) {
+                            return player;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
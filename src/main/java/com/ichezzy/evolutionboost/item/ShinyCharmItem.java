@@ -2,7 +2,6 @@ package com.ichezzy.evolutionboost.item;
 
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
-import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
@@ -11,7 +10,6 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
-import net.minecraft.world.phys.AABB;
 
 import java.util.List;
 
@@ -20,8 +18,6 @@ import java.util.List;
  */
 public class ShinyCharmItem extends Item {
 
-    private static final boolean TRINKETS_LOADED = FabricLoader.getInstance().isModLoaded("trinkets");
-
     public ShinyCharmItem(Properties properties) {
         super(properties);
     }
@@ -66,24 +62,13 @@ public class ShinyCharmItem extends Item {
         double radius = cfg.shinyCharmRadius > 0 ? cfg.shinyCharmRadius : 64.0;
         double multiplier = cfg.shinyCharmMultiplier > 0 ? cfg.shinyCharmMultiplier : 2.0;
 
-        AABB searchBox = new AABB(
-                spawnPos.getX() - radius, spawnPos.getY() - radius, spawnPos.getZ() - radius,
-                spawnPos.getX() + radius, spawnPos.getY() + radius, spawnPos.getZ() + radius
-        );
-
-        List<ServerPlayer> nearbyPlayers = level.getEntitiesOfClass(
-                ServerPlayer.class,
-                searchBox,
-                player -> !player.isSpectator()
-        );
-
-        for (ServerPlayer player : nearbyPlayers) {
-            if (hasShinyCharm(player)) {
-                EvolutionBoost.LOGGER.debug(
-                        "[ShinyCharm] Player {} has Shiny Charm near spawn at {}, applying x{}",
-                        player.getName().getString(), spawnPos, multiplier);
-                return multiplier;
-            }
+        // Charm-Träger kommen aus dem räumlichen Index (kein Entity-Scan, kein Inventar-Scan)
+        ServerPlayer holder = ShinyCharmHolderIndex.findHolderNear(level, spawnPos, radius);
+        if (holder != null) {
+            EvolutionBoost.LOGGER.debug(
+                    "[ShinyCharm] Player {} has Shiny Charm near spawn at {}, applying x{}",
+                    holder.getName().getString(), spawnPos, multiplier);
+            return multiplier;
         }
 
         return 1.0;
@@ -91,31 +76,10 @@ public class ShinyCharmItem extends Item {
 
     /**
      * Checks if player has any Shiny Charm (permanent or 30d, inventory or trinkets).
+     * Backed by the cached {@link CharmState} bitset.
      */
     public static boolean hasShinyCharm(ServerPlayer player) {
-        // Permanent charm in inventory
-        if (hasShinyCharmInInventory(player)) {
-            return true;
-        }
-        
-        // Timed charm in inventory
-        if (TimedShinyCharmItem.hasActiveTimedShinyCharm(player)) {
-            return true;
-        }
-        
-        // Check trinkets
-        if (TRINKETS_LOADED) {
-            try {
-                if (com.ichezzy.evolutionboost.compat.trinkets.TrinketsCompat.hasShinyCharmTrinket(player)) {
-                    return true;
-                }
-                if (com.ichezzy.evolutionboost.compat.trinkets.TrinketsCompat.hasActiveTimedShinyCharm(player)) {
-                    return true;
-                }
-            } catch (NoClassDefFoundError | Exception ignored) {}
-        }
-        
-        return false;
+        return CharmState.has(player, CharmState.ANY_SHINY);
     }
 
     public static boolean hasShinyCharmInInventory(ServerPlayer player) {
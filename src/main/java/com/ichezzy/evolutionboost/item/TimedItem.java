@@ -33,7 +33,9 @@ public abstract class TimedItem extends Item {
         CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
         if (customData == null) return -1;
         
-        CompoundTag tag = customData.copyTag();
+        // nur lesend -> keine Kopie des Tags nötig
+        @SuppressWarnings("deprecation")
+        CompoundTag tag = customData.getUnsafe();
         if (!tag.contains("ExpiresAt")) return -1;
         
         return tag.getLong("ExpiresAt");
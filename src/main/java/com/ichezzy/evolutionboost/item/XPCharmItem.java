@@ -2,7 +2,6 @@ package com.ichezzy.evolutionboost.item;
 
 import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.configs.EvolutionBoostConfig;
-import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -22,8 +21,6 @@ import java.util.List;
  */
 public class XPCharmItem extends Item {
 
-    private static final boolean TRINKETS_LOADED = FabricLoader.getInstance().isModLoaded("trinkets");
-
     public XPCharmItem(Properties properties) {
         super(properties);
     }
@@ -78,31 +75,10 @@ public class XPCharmItem extends Item {
 
     /**
      * Checks if player has any XP Charm (permanent or 30d, inventory or trinkets).
+     * Backed by the cached {@link CharmState} bitset.
      */
     public static boolean hasXPCharm(ServerPlayer player) {
-        // Permanent charm in inventory
-        if (hasXPCharmInInventory(player)) {
-            return true;
-        }
-        
-        // Timed charm in inventory
-        if (TimedXPCharmItem.hasActiveTimedXPCharm(player)) {
-            return true;
-        }
-        
-        // Check trinkets
-        if (TRINKETS_LOADED) {
-            try {
-                if (com.ichezzy.evolutionboost.compat.trinkets.TrinketsCompat.hasXPCharmTrinket(player)) {
-                    return true;
-                }
-                if (com.ichezzy.evolutionboost.compat.trinkets.TrinketsCompat.hasActiveTimedXPCharm(player)) {
-                    return true;
-                }
-            } catch (NoClassDefFoundError | Exception ignored) {}
-        }
-        
-        return false;
+        return CharmState.has(player, CharmState.ANY_XP);
     }
 
     /**
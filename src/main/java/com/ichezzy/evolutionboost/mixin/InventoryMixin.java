@@ -0,0 +1,44 @@
+package com.ichezzy.evolutionboost.mixin;
+
+import com.ichezzy.evolutionboost.item.CharmState;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin für den Charm-Cache.
+ * Jede Änderung am Spieler-Inventar markiert den CharmState des Spielers als veraltet.
+ */
+@Mixin(Inventory.class)
+public abstract class InventoryMixin {
+
+    @Shadow @Final public Player player;
+
+    @Inject(
+            method = {"setItem", "setChanged", "clearContent", "replaceWith", "dropAll"},
+            at = @At("RETURN")
+    )
+    private void evolutionboost$invalidateCharms(CallbackInfo ci) {
+        CharmState.markDirty(this.player);
+    }
+
+    @Inject(
+            method = {"removeItem(II)Lnet/minecraft/world/item/ItemStack;", "removeItemNoUpdate"},
+            at = @At("RETURN")
+    )
+    private void evolutionboost$invalidateCharmsOnRemove(CallbackInfoReturnable<ItemStack> cir) {
+        CharmState.markDirty(this.player);
+    }
+
+    @Inject(method = "add(ILnet/minecraft/world/item/ItemStack;)Z", at = @At("RETURN"))
+    private void evolutionboost$invalidateCharmsOnAdd(CallbackInfoReturnable<Boolean> cir) {
+        CharmState.markDirty(this.player);
+    }
+}
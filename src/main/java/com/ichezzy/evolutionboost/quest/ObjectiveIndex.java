@@ -0,0 +1,104 @@
+package com.ichezzy.evolutionboost.quest;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Invertierter Index der aktiven Objectives eines Spielers für {@link QuestManager#processProgress}.
+ *
+ * Ebene 1: QuestType -> alle (Quest, Objective)-Paare der aktiven Quests.
+ * Ebene 2: Objectives, deren Filter "species" setzt, liegen unter jeder genannten Species;
+ * Objectives ohne Species, aber mit "types", unter jedem genannten Typ; der Rest ohne Schlüssel.
+ * Ein Catch-Event berührt so nur Objectives, die es überhaupt voranbringen kann.
+ *
+ * Der Index ist unveränderlich. QuestManager baut ihn neu, sobald sich die aktiven Quests
+ * des Spielers ändern ({@link PlayerQuestData#activeVersion()}) oder Quests neu registriert werden.
+ */
+final class ObjectiveIndex {
+
+    record Entry(String questId, Quest quest, QuestObjective objective, Set<String> typeKeys) {}
+
+    private static final class Bucket {
+        final List<Entry> unkeyed = new ArrayList<>();
+        final List<Entry> speciesKeyed = new ArrayList<>();
+        final List<Entry> typeKeyed = new ArrayList<>();
+        final Map<String, List<Entry>> bySpecies = new HashMap<>();
+        final Map<String, List<Entry>> byElement = new HashMap<>();
+    }
+
+    private final Map<QuestType, Bucket> buckets = new EnumMap<>(QuestType.class);
+
+    /** Stand, auf dem der Index gebaut wurde. */
+    final PlayerQuestData data;
+    final int dataVersion;
+    final long questsVersion;
+
+    private ObjectiveIndex(PlayerQuestData data, int dataVersion, long questsVersion) {
+        this.data = data;
+        this.dataVersion = dataVersion;
+        this.questsVersion = questsVersion;
+    }
+
+    static ObjectiveIndex build(PlayerQuestData data, long questsVersion, Function<String, Quest> lookup) {
+        // Version vor dem Lesen merken: eine parallele Änderung macht den Index sofort wieder ungültig
+        ObjectiveIndex index = new ObjectiveIndex(data, data.activeVersion(), questsVersion);
+
+        for (String questId : data.getActiveQuests()) {
+            Quest quest = lookup.apply(questId);
+            if (quest == null) continue;
+
+            for (QuestObjective obj : quest.getObjectives()) {
+                Bucket bucket = index.buckets.computeIfAbsent(obj.getType(), k -> new Bucket());
+                Set<String> species = obj.getMatcher().species();
+                Set<String> types = obj.getMatcher().types();
+                Entry entry = new Entry(questId, quest, obj, types);
+
+                if (!species.isEmpty()) {
+                    bucket.speciesKeyed.add(entry);
+                    for (String s : species) {
+                        bucket.bySpecies.computeIfAbsent(s, k -> new ArrayList<>()).add(entry);
+                    }
+                } else if (!types.isEmpty()) {
+                    bucket.typeKeyed.add(entry);
+                    for (String t : types) {
+                        bucket.byElement.computeIfAbsent(t, k -> new ArrayList<>()).add(entry);
+                    }
+                } else {
+                    bucket.unkeyed.add(entry);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Kandidaten für ein Event. {@code null} als Species bzw. Primärtyp heißt "nicht einschränken"
+     * (z.B. Item-Events); die eigentliche Prüfung macht weiterhin das Prädikat des Hooks.
+     */
+    List<Entry> candidates(QuestType type, String species, String primaryType, String secondaryType) {
+        Bucket bucket = buckets.get(type);
+        if (bucket == null) return List.of();
+
+        List<Entry> out = new ArrayList<>(bucket.unkeyed);
+
+        if (species == null) {
+            out.addAll(bucket.speciesKeyed);
+        } else {
+            out.addAll(bucket.bySpecies.getOrDefault(species.toLowerCase(Locale.ROOT), List.of()));
+        }
+
+        if (primaryType == null) {
+            out.addAll(bucket.typeKeyed);
+        } else {
+            String primary = primaryType.toLowerCase(Locale.ROOT);
+            out.addAll(bucket.byElement.getOrDefault(primary, List.of()));
+            if (secondaryType != null) {
+                for (Entry e : bucket.byElement.getOrDefault(secondaryType.toLowerCase(Locale.ROOT), List.of())) {
+                    // Objectives mit beiden Typen im Filter stehen schon über den Primärtyp drin
+                    if (!e.typeKeys().contains(primary)) out.add(e);
+                }
+            }
+        }
+        return out;
+    }
+}
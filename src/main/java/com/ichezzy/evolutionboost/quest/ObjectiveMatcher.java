@@ -0,0 +1,124 @@
+package com.ichezzy.evolutionboost.quest;
+
+import java.util.*;
+
+/**
+ * Vorkompilierter Filter eines {@link QuestObjective}.
+ *
+ * Wird einmal beim Erstellen des Objectives (= bei der Quest-Registrierung) aus der Filter-Map
+ * gebaut: Species/Typen als lowercase Sets, geforderte Aspects als lowercase Array,
+ * Level-Grenzen als int, Shiny als boolean.
+ * Das Matchen selbst liest nur noch Felder und macht Set-Lookups – keine Streams, keine
+ * Map-Zugriffe, keine Allokationen.
+ *
+ * Erwartet lowercase Eingaben (Species, Typen, Aspects), wie sie die Quest-Hooks liefern.
+ */
+public final class ObjectiveMatcher {
+
+    private static final ObjectiveMatcher ANY = new ObjectiveMatcher(
+            Set.of(), Set.of(), new String[0], Integer.MIN_VALUE, Integer.MAX_VALUE, false, null);
+
+    private final Set<String> species;
+    private final Set<String> types;
+    private final String[] aspects;
+    private final int minLevel;
+    private final int maxLevel;
+    private final boolean shinyRequired;
+    private final String item;
+
+    private ObjectiveMatcher(Set<String> species, Set<String> types, String[] aspects,
+                             int minLevel, int maxLevel, boolean shinyRequired, String item) {
+        this.species = species;
+        this.types = types;
+        this.aspects = aspects;
+        this.minLevel = minLevel;
+        this.maxLevel = maxLevel;
+        this.shinyRequired = shinyRequired;
+        this.item = item;
+    }
+
+    /**
+     * Kompiliert die Filter eines Objectives (Keys: species, types, aspects, minLevel, maxLevel, shiny, item).
+     */
+    static ObjectiveMatcher compile(QuestObjective obj) {
+        if (obj.getFilter().isEmpty()) return ANY;
+
+        Set<String> species = lowercaseSet(obj.getFilterList("species"));
+        Set<String> types = lowercaseSet(obj.getFilterList("types"));
+        String[] aspects = lowercaseSet(obj.getFilterList("aspects")).toArray(new String[0]);
+
+        Integer min = obj.getFilterInt("minLevel");
+        Integer max = obj.getFilterInt("maxLevel");
+        Boolean shiny = obj.getFilterBoolean("shiny");
+        String item = obj.getFilterString("item");
+
+        return new ObjectiveMatcher(species, types, aspects,
+                min != null ? min : Integer.MIN_VALUE,
+                max != null ? max : Integer.MAX_VALUE,
+                shiny != null && shiny,
+                item != null ? item.toLowerCase(Locale.ROOT) : null);
+    }
+
+    private static Set<String> lowercaseSet(List<?> values) {
+        if (values.isEmpty()) return Set.of();
+        Set<String> out = new HashSet<>();
+        for (Object v : values) {
+            if (v != null) out.add(v.toString().toLowerCase(Locale.ROOT));
+        }
+        return Set.copyOf(out);
+    }
+
+    // ==================== Getters ====================
+
+    /** Species-Filter (lowercase, leer = jede Species). */
+    public Set<String> species() {
+        return species;
+    }
+
+    /** Typ-Filter (lowercase, leer = jeder Typ). */
+    public Set<String> types() {
+        return types;
+    }
+
+    /** Item-ID (lowercase) oder null, wenn kein Item-Filter gesetzt ist. */
+    public String item() {
+        return item;
+    }
+
+    // ==================== Matching ====================
+
+    /**
+     * Prüft ob ein Pokemon die Filter-Kriterien erfüllt.
+     * Aspects: alle geforderten Aspects müssen vorhanden sein.
+     */
+    public boolean matchesPokemon(String species, String primaryType, String secondaryType,
+                                  Collection<String> aspects, int level, boolean isShiny) {
+        if (!matchesSpecies(species)) return false;
+
+        if (!types.isEmpty() && (primaryType == null || !types.contains(primaryType))
+                && (secondaryType == null || !types.contains(secondaryType))) {
+            return false;
+        }
+
+        for (String required : this.aspects) {
+            if (!aspects.contains(required)) return false;
+        }
+
+        if (level < minLevel || level > maxLevel) return false;
+
+        return !shinyRequired || isShiny;
+    }
+
+    /** Nur der Species-Filter (z.B. Evolution: zählt das Ziel-Pokemon). */
+    public boolean matchesSpecies(String species) {
+        return this.species.isEmpty() || (species != null && this.species.contains(species));
+    }
+
+    /**
+     * Prüft ob ein Item die Filter-Kriterien erfüllt.
+     * @param itemId Item-ID (z.B. "evolutionboost:holy_spark")
+     */
+    public boolean matchesItem(String itemId) {
+        return item == null || item.equalsIgnoreCase(itemId);
+    }
+}
@@ -3,9 +3,13 @@ package com.ichezzy.evolutionboost.quest;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Speichert den Quest-Fortschritt eines Spielers.
+ *
+ * Geändert wird auf dem Server-Thread, {@link #toMap()} läuft beim Speichern auf dem IO-Thread
+ * (siehe QuestManager.savePlayerData) – daher nebenläufige Maps und volatile Felder.
  */
 public class PlayerQuestData {
     private final UUID playerId;
@@ -14,6 +18,12 @@ public class PlayerQuestData {
     // Quest-ID -> QuestProgress
     private final Map<String, QuestProgress> questProgress = new ConcurrentHashMap<>();
 
+    // Zählt Änderungen an der Menge der aktiven Quests (für den ObjectiveIndex im QuestManager)
+    private final AtomicInteger activeVersion = new AtomicInteger();
+
+    // Quests mit geändertem Status seit der letzten Verfügbarkeits-Aktualisierung im QuestManager
+    private final Set<String> statusChanges = ConcurrentHashMap.newKeySet();
+
     public PlayerQuestData(UUID playerId, String playerName) {
         this.playerId = playerId;
         this.playerName = playerName;
@@ -42,7 +52,14 @@ public class PlayerQuestData {
      */
     public void setStatus(String questId, QuestStatus status) {
         QuestProgress progress = questProgress.computeIfAbsent(questId, k -> new QuestProgress());
+        boolean wasActive = isActiveStatus(progress.status);
+        if (progress.status != status) {
+            statusChanges.add(questId);
+        }
         progress.status = status;
+        if (wasActive != isActiveStatus(status)) {
+            activeVersion.incrementAndGet();
+        }
 
         if (status == QuestStatus.ACTIVE && progress.startedAt == null) {
             progress.startedAt = Instant.now();
@@ -63,10 +80,30 @@ public class PlayerQuestData {
      * Prüft ob eine Quest aktiv ist (ACTIVE oder READY_TO_COMPLETE).
      */
     public boolean isActive(String questId) {
-        QuestStatus status = getStatus(questId);
+        return isActiveStatus(getStatus(questId));
+    }
+
+    private static boolean isActiveStatus(QuestStatus status) {
         return status == QuestStatus.ACTIVE || status == QuestStatus.READY_TO_COMPLETE;
     }
 
+    /**
+     * Wird erhöht, sobald eine Quest aktiv wird oder nicht mehr aktiv ist.
+     */
+    int activeVersion() {
+        return activeVersion.get();
+    }
+
+    /**
+     * Entnimmt die seit dem letzten Aufruf geänderten Quest-IDs (Status gesetzt oder zurückgesetzt).
+     */
+    List<String> drainStatusChanges() {
+        if (statusChanges.isEmpty()) return List.of();
+        List<String> changed = new ArrayList<>(statusChanges);
+        statusChanges.removeAll(changed);
+        return changed;
+    }
+
     // ==================== Objective Progress ====================
 
     /**
@@ -168,14 +205,25 @@ public class PlayerQuestData {
      * Setzt eine Quest zurück (löscht allen Fortschritt).
      */
     public void resetQuest(String questId) {
-        questProgress.remove(questId);
+        if (questProgress.remove(questId) != null) {
+            activeVersion.incrementAndGet();
+            statusChanges.add(questId);
+        }
     }
 
     /**
      * Setzt alle Quests einer Questline zurück.
      */
     public void resetQuestLine(String questLine) {
-        questProgress.entrySet().removeIf(e -> e.getKey().startsWith(questLine + ":"));
+        String prefix = questLine + ":";
+        boolean removed = questProgress.entrySet().removeIf(e -> {
+            if (!e.getKey().startsWith(prefix)) return false;
+            statusChanges.add(e.getKey());
+            return true;
+        });
+        if (removed) {
+            activeVersion.incrementAndGet();
+        }
     }
 
     // ==================== Serialization Support ====================
@@ -222,10 +270,10 @@ public class PlayerQuestData {
     // ==================== Inner Class ====================
 
     private static class QuestProgress {
-        QuestStatus status = QuestStatus.LOCKED;
-        Map<String, Integer> objectiveProgress = new HashMap<>();
-        Instant startedAt;
-        Instant completedAt;
+        volatile QuestStatus status = QuestStatus.LOCKED;
+        final Map<String, Integer> objectiveProgress = new ConcurrentHashMap<>();
+        volatile Instant startedAt;
+        volatile Instant completedAt;
 
         Map<String, Object> toMap() {
             Map<String, Object> map = new LinkedHashMap<>();
@@ -14,6 +14,7 @@ public class Quest {
     private final QuestCategory category;
     private final List<String> prerequisites;   // Quest-IDs die vorher abgeschlossen sein müssen
     private final List<QuestObjective> objectives;
+    private final Map<QuestType, List<QuestObjective>> objectivesByType;
     private final List<QuestReward> rewards;
     private final boolean autoActivate;     // Automatisch aktivieren wenn prerequisites erfüllt
     private final boolean hidden;           // Quest versteckt bis aktiviert
@@ -28,6 +29,7 @@ public class Quest {
         this.category = builder.category;
         this.prerequisites = List.copyOf(builder.prerequisites);
         this.objectives = List.copyOf(builder.objectives);
+        this.objectivesByType = groupByType(this.objectives);
         this.rewards = List.copyOf(builder.rewards);
         this.autoActivate = builder.autoActivate;
         this.hidden = builder.hidden;
@@ -105,9 +107,16 @@ public class Quest {
      * Findet alle Objectives eines bestimmten Typs.
      */
     public List<QuestObjective> getObjectivesByType(QuestType type) {
-        return objectives.stream()
-                .filter(o -> o.getType() == type)
-                .toList();
+        return objectivesByType.getOrDefault(type, List.of());
+    }
+
+    private static Map<QuestType, List<QuestObjective>> groupByType(List<QuestObjective> objectives) {
+        Map<QuestType, List<QuestObjective>> grouped = new EnumMap<>(QuestType.class);
+        for (QuestObjective obj : objectives) {
+            grouped.computeIfAbsent(obj.getType(), k -> new ArrayList<>()).add(obj);
+        }
+        grouped.replaceAll((type, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(grouped);
     }
 
     @Override
@@ -0,0 +1,85 @@
+package com.ichezzy.evolutionboost.quest;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+
+import java.util.*;
+
+/**
+ * Prerequisite-Graph aller registrierten Quests (Kante: Prerequisite -> abhängige Quest).
+ *
+ * Über die Rückwärtskanten ({@link #dependents}) muss nach einer Statusänderung von Quest X
+ * nur X selbst und seine direkten Abhängigen neu bewertet werden, statt aller Quests.
+ * {@link #order()} ist eine topologische Reihenfolge für die vollständige Erstbewertung.
+ *
+ * Unveränderlich; Teil jedes QuestRegistry-Stands.
+ */
+final class QuestGraph {
+
+    private final Map<String, List<String>> dependents;
+    private final List<String> order;
+
+    /** Version des QuestRegistry-Stands, zu dem der Graph gehört. */
+    final long version;
+
+    private QuestGraph(Map<String, List<String>> dependents, List<String> order, long version) {
+        this.dependents = dependents;
+        this.order = order;
+        this.version = version;
+    }
+
+    static QuestGraph build(Collection<Quest> quests, long version) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        Map<String, Integer> inDegree = new HashMap<>();
+
+        for (Quest quest : quests) {
+            inDegree.putIfAbsent(quest.getFullId(), 0);
+        }
+        for (Quest quest : quests) {
+            for (String prereq : new LinkedHashSet<>(quest.getPrerequisites())) {
+                dependents.computeIfAbsent(prereq, k -> new ArrayList<>()).add(quest.getFullId());
+                // Unbekannte Prerequisites zählen nicht (Quest bleibt dann dauerhaft LOCKED)
+                if (inDegree.containsKey(prereq)) {
+                    inDegree.merge(quest.getFullId(), 1, Integer::sum);
+                }
+            }
+        }
+
+        // Kahn: topologische Reihenfolge, Zyklen bleiben übrig
+        List<String> order = new ArrayList<>(inDegree.size());
+        Deque<String> ready = new ArrayDeque<>();
+        inDegree.forEach((id, deg) -> {
+            if (deg == 0) ready.add(id);
+        });
+        Map<String, Integer> remaining = new HashMap<>(inDegree);
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            order.add(id);
+            for (String dep : dependents.getOrDefault(id, List.of())) {
+                if (remaining.merge(dep, -1, Integer::sum) == 0) ready.add(dep);
+            }
+        }
+
+        if (order.size() < inDegree.size()) {
+            Set<String> ordered = new HashSet<>(order);
+            List<String> cyclic = new ArrayList<>();
+            for (String id : inDegree.keySet()) {
+                if (!ordered.contains(id)) cyclic.add(id);
+            }
+            EvolutionBoost.LOGGER.warn("[quests] Prerequisite cycle between {} – these quests can never unlock.", cyclic);
+            order.addAll(cyclic);
+        }
+
+        dependents.replaceAll((id, list) -> List.copyOf(list));
+        return new QuestGraph(Map.copyOf(dependents), List.copyOf(order), version);
+    }
+
+    /** Quests, die {@code questId} als Prerequisite haben. */
+    List<String> dependents(String questId) {
+        return dependents.getOrDefault(questId, List.of());
+    }
+
+    /** Alle Quests, Prerequisites vor ihren Abhängigen. */
+    List<String> order() {
+        return order;
+    }
+}
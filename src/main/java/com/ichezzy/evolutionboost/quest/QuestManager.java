@@ -2,6 +2,10 @@ package com.ichezzy.evolutionboost.quest;
 
 import com.google.gson.*;
 import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import com.ichezzy.evolutionboost.quest.pack.QuestPackLoader;
+import com.ichezzy.evolutionboost.quest.pack.QuestPackWatcher;
+import com.ichezzy.evolutionboost.util.AsyncFileWriter;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -12,7 +16,10 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Zentraler Manager für das Quest-System.
@@ -23,15 +30,58 @@ public final class QuestManager {
 
     private MinecraftServer server;
 
-    // Quest-Definitionen: fullId -> Quest
-    private final Map<String, Quest> quests = new ConcurrentHashMap<>();
+    // Quest-Definitionen, Questlines (sortiert) und Prerequisite-Graph als unveränderlicher Stand.
+    // Änderungen bauen einen neuen Stand und tauschen ihn mit einem volatile-Write aus.
+    private volatile QuestRegistry registry = QuestRegistry.EMPTY;
 
-    // Questlines: questLine -> List<Quest> (sortiert)
-    private final Map<String, List<Quest>> questLines = new ConcurrentHashMap<>();
+    // Versionszähler für neue QuestRegistry-Stände
+    private final java.util.concurrent.atomic.AtomicLong registryVersions = new java.util.concurrent.atomic.AtomicLong();
 
-    // Spieler-Fortschritt: UUID -> PlayerQuestData
+    // Spieler-Fortschritt der Online-Spieler: UUID -> PlayerQuestData (beim Join asynchron geladen)
     private final Map<UUID, PlayerQuestData> playerData = new ConcurrentHashMap<>();
 
+    // Zuletzt ausgeloggte bzw. per Admin-Command abgefragte Spieler (LRU, debug.json: questDataCacheSize)
+    private final Map<UUID, PlayerQuestData> offlineCache = Collections.synchronizedMap(
+            new LinkedHashMap<UUID, PlayerQuestData>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, PlayerQuestData> eldest) {
+                    // Ausstehende Writes halten ihre Daten selbst – Verwerfen ist hier immer sicher
+                    return size() > Math.max(0, DebugConfig.get().questDataCacheSize);
+                }
+            });
+
+    // Aktive Objectives je Spieler, nach Typ/Species/Element indiziert (siehe ObjectiveIndex)
+    private final Map<UUID, ObjectiveIndex> objectiveIndex = new ConcurrentHashMap<>();
+
+    // Verfügbare Quests je Spieler, inkrementell über den QuestGraph gepflegt
+    private final Map<UUID, Availability> availability = new ConcurrentHashMap<>();
+
+    /** AVAILABLE-Quests eines Spielers auf dem Stand von {@code data} und {@code graphVersion}. */
+    private static final class Availability {
+        final PlayerQuestData data;
+        final long graphVersion;
+        final Set<String> available = new HashSet<>();
+
+        Availability(PlayerQuestData data, long graphVersion) {
+            this.data = data;
+            this.graphVersion = graphVersion;
+        }
+    }
+
+    // Reloads laufen nacheinander auf einem eigenen Thread (kein paralleles Lesen der Packs,
+    // kein Überholen eines neueren Reloads durch einen älteren)
+    private static final ExecutorService RELOADS = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "EvolutionBoost-QuestReload");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Lädt Quest-Packs bei Dateiänderungen neu (debug.json: questPackHotReload)
+    private QuestPackWatcher packWatcher;
+
+    // true, wenn der Pack-Ordner beim ersten Start nicht angelegt werden konnte -> eingebaute Quests
+    private volatile boolean useBuiltInQuests = false;
+
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     private QuestManager() {}
@@ -47,13 +97,31 @@ public final class QuestManager {
 
     public void init(MinecraftServer server) {
         this.server = server;
-        loadQuests();
-        loadAllPlayerData();
-        EvolutionBoost.LOGGER.info("[quests] QuestManager initialized with {} quests.", quests.size());
+
+        // Singleton überlebt im Singleplayer den Weltwechsel (inkl. Disconnects beim Stoppen)
+        // -> keinen Fortschritt aus der vorherigen Welt übernehmen
+        playerData.clear();
+        offlineCache.clear();
+        objectiveIndex.clear();
+        availability.clear();
+
+        setupQuestPacks();
+        // Einmalig synchron (blockiert den Start kurz, parallel geparst): Quests stehen vor dem ersten Join.
+        // Ersetzt auch den Stand einer vorherigen Welt. Spätere Reloads laufen über reloadQuests().
+        replaceQuests(collectQuests());
+        if (packWatcher == null && DebugConfig.get().questPackHotReload) {
+            packWatcher = QuestPackWatcher.start(getQuestPacksDir(), this::reloadChangedPacks);
+        }
+        // Spieler-Fortschritt wird beim Join geladen (onPlayerJoin), nicht mehr komplett beim Start
+        EvolutionBoost.LOGGER.info("[quests] QuestManager initialized with {} quests.", registry.quests().size());
     }
 
     public void shutdown() {
-        saveAllPlayerData();
+        if (packWatcher != null) {
+            packWatcher.stop();
+            packWatcher = null;
+        }
+        saveAllPlayerData(); // geschrieben wird beim anschließenden AsyncFileWriter.flush()
         EvolutionBoost.LOGGER.info("[quests] QuestManager shutdown, saved {} player progress files.", playerData.size());
     }
 
@@ -61,60 +129,182 @@ public final class QuestManager {
 
     /**
      * Registriert eine Quest.
+     * Für viele Quests {@link #registerQuests} verwenden (ein Neuaufbau statt einer pro Quest).
      */
     public void registerQuest(Quest quest) {
-        quests.put(quest.getFullId(), quest);
+        registerQuests(List.of(quest));
+    }
+
+    /**
+     * Registriert mehrere Quests auf einmal: neuer Stand inkl. bestehender Quests,
+     * jede Questline einmal sortiert, dann atomar veröffentlicht.
+     */
+    public synchronized void registerQuests(Collection<Quest> added) {
+        registry = QuestRegistry.build(registry, added, registryVersions.incrementAndGet());
+    }
+
+    /**
+     * Ersetzt alle Quest-Definitionen durch {@code all} (atomar).
+     */
+    public synchronized void replaceQuests(Collection<Quest> all) {
+        registry = QuestRegistry.build(QuestRegistry.EMPTY, all, registryVersions.incrementAndGet());
+    }
 
-        // Zur Questline hinzufügen
-        questLines.computeIfAbsent(quest.getQuestLine(), k -> new ArrayList<>()).add(quest);
+    /**
+     * Lädt alle Quest-Definitionen neu: Aufbau (Quests, Questlines, Graph) läuft auf einem
+     * Worker-Thread, veröffentlicht wird der fertige Stand mit einem einzigen Tausch.
+     * Spieler-Indizes bauen sich über die neue Version beim nächsten Zugriff selbst neu.
+     *
+     * Reloads werden serialisiert; die Version wird VOR dem Lesen der Packs vergeben. Ein später
+     * angestoßener Reload (neuerer Dateistand) gewinnt damit immer gegen einen früheren.
+     *
+     * @return Anzahl der Quests im neuen Stand und ob er veröffentlicht wurde
+     */
+    public CompletableFuture<ReloadResult> reloadQuests() {
+        return CompletableFuture.supplyAsync(() -> {
+            long version = registryVersions.incrementAndGet(); // vor collectQuests()
+            QuestRegistry next = QuestRegistry.build(QuestRegistry.EMPTY, collectQuests(), version);
+            boolean applied;
+            synchronized (this) {
+                // Einen neueren Stand (späterer Reload/Registrierung) nicht überschreiben
+                applied = next.version > registry.version;
+                if (applied) registry = next;
+            }
+            if (applied) {
+                EvolutionBoost.LOGGER.info("[quests] Reloaded {} quests.", next.quests().size());
+            } else {
+                EvolutionBoost.LOGGER.info("[quests] Reload of {} quests superseded by a newer quest state, discarded.",
+                        next.quests().size());
+            }
+            return new ReloadResult(next.quests().size(), applied);
+        }, RELOADS);
+    }
 
-        // Questline sortieren
-        questLines.get(quest.getQuestLine()).sort(Comparator.comparingInt(Quest::getSortOrder));
+    /** Reload durch den QuestPackWatcher: Fehler des asynchronen Reloads landen im Log. */
+    private void reloadChangedPacks() {
+        reloadQuests().whenComplete((result, error) -> {
+            if (error != null) {
+                EvolutionBoost.LOGGER.error("[quests] Quest pack reload failed", error);
+            }
+        });
     }
 
+    /**
+     * Ergebnis von {@link #reloadQuests()}.
+     * {@code applied = false}: während des Aufbaus wurde ein neuerer Stand veröffentlicht, dieser gilt.
+     */
+    public record ReloadResult(int quests, boolean applied) {}
+
     /**
      * Holt eine Quest nach ID.
      */
     public Optional<Quest> getQuest(String fullId) {
-        return Optional.ofNullable(quests.get(fullId));
+        return Optional.ofNullable(registry.quest(fullId));
     }
 
     /**
      * Holt alle Quests einer Questline.
      */
     public List<Quest> getQuestLine(String questLine) {
-        return questLines.getOrDefault(questLine, Collections.emptyList());
+        return registry.questLines().getOrDefault(questLine, Collections.emptyList());
     }
 
     /**
      * Holt alle registrierten Questlines.
      */
     public Set<String> getQuestLines() {
-        return Collections.unmodifiableSet(questLines.keySet());
+        return registry.questLines().keySet();
     }
 
     /**
      * Holt alle registrierten Quests.
      */
     public Collection<Quest> getAllQuests() {
-        return Collections.unmodifiableCollection(quests.values());
+        return registry.quests().values();
     }
 
     // ==================== Player Data ====================
 
     /**
      * Holt oder erstellt Spieler-Daten.
+     *
+     * Ist das asynchrone Laden beim Join noch nicht fertig, wird die Datei synchron gelesen –
+     * dieser Nachzügler-Pfad BLOCKIERT den aufrufenden Thread (ggf. AsyncFileWriter.flush für
+     * die Datei, bis zu 30 s, plus Disk-Read). Normalfall ist das Laden in {@link #onPlayerJoin}.
      */
     public PlayerQuestData getPlayerData(ServerPlayer player) {
-        return playerData.computeIfAbsent(player.getUUID(),
-                uuid -> new PlayerQuestData(uuid, player.getName().getString()));
+        PlayerQuestData data = playerData.get(player.getUUID());
+        if (data != null) return data;
+
+        // Nachzügler nach dem Disconnect (z.B. DeferredWork): nicht wieder als online eintragen
+        if (player.hasDisconnected()) {
+            data = getPlayerData(player.getUUID());
+            if (data == null) {
+                data = new PlayerQuestData(player.getUUID(), player.getName().getString());
+                offlineCache.put(player.getUUID(), data);
+            }
+            return data;
+        }
+
+        // Lesen außerhalb von computeIfAbsent: kein blockierender Disk-Zugriff unter dem Map-Lock
+        UUID uuid = player.getUUID();
+        PlayerQuestData loaded = offlineCache.remove(uuid);
+        if (loaded == null) loaded = readPlayerData(getPlayerDataFile(uuid));
+        if (loaded == null) loaded = new PlayerQuestData(uuid, player.getName().getString());
+
+        // Parallel fertig gewordenes Join-Laden gewinnt
+        PlayerQuestData existing = playerData.putIfAbsent(uuid, loaded);
+        return existing != null ? existing : loaded;
     }
 
     /**
-     * Holt Spieler-Daten nach UUID (kann null sein wenn nie online).
+     * Holt Spieler-Daten nach UUID, auch für Offline-Spieler (lädt bei Bedarf von Disk).
+     * Null, wenn der Spieler nie Quest-Fortschritt hatte.
      */
     public PlayerQuestData getPlayerData(UUID playerId) {
-        return playerData.get(playerId);
+        PlayerQuestData data = playerData.get(playerId);
+        if (data != null) return data;
+
+        // Online, aber Join-Laden noch nicht fertig -> denselben Weg wie für Online-Spieler nehmen.
+        // Bereits disconnectete Spieler stehen noch kurz in der PlayerList -> Offline-Pfad
+        // (sonst Endlosrekursion mit getPlayerData(ServerPlayer)).
+        ServerPlayer online = server != null ? server.getPlayerList().getPlayer(playerId) : null;
+        if (online != null && !online.hasDisconnected()) return getPlayerData(online);
+
+        data = offlineCache.get(playerId);
+        if (data != null) return data;
+
+        data = readPlayerData(getPlayerDataFile(playerId));
+        if (data != null) offlineCache.put(playerId, data);
+        return data;
+    }
+
+    /**
+     * Spieler-Join: Fortschritt aus dem LRU übernehmen oder asynchron von Disk laden.
+     */
+    public void onPlayerJoin(UUID playerId) {
+        if (playerData.containsKey(playerId)) return;
+
+        PlayerQuestData cached = offlineCache.remove(playerId);
+        if (cached != null) {
+            playerData.putIfAbsent(playerId, cached);
+            return;
+        }
+
+        MinecraftServer srv = server;
+        if (srv == null) return;
+        Path file = getPlayerDataFile(playerId);
+
+        CompletableFuture.supplyAsync(() -> readPlayerData(file))
+                .thenAccept(loaded -> {
+                    if (loaded == null) return;
+                    srv.execute(() -> {
+                        // Inzwischen synchron geladen/angelegt? Dann gilt der vorhandene Stand.
+                        if (srv.getPlayerList().getPlayer(playerId) != null) {
+                            playerData.putIfAbsent(playerId, loaded);
+                        }
+                    });
+                });
     }
 
     /**
@@ -181,17 +371,63 @@ public final class QuestManager {
     }
 
     /**
-     * Holt alle verfügbaren Quests für einen Spieler.
+     * Holt alle verfügbaren Quests für einen Spieler (Kopie).
      */
     public Set<String> getAvailableQuests(ServerPlayer player) {
-        Set<String> available = new HashSet<>();
-        for (Quest quest : quests.values()) {
-            QuestStatus status = getEffectiveStatus(player, quest.getFullId());
-            if (status == QuestStatus.AVAILABLE) {
-                available.add(quest.getFullId());
+        return new HashSet<>(syncAvailability(player).available);
+    }
+
+    /**
+     * Prüft ob eine Quest für einen Spieler verfügbar ist (ohne alle Quests durchzugehen).
+     */
+    public boolean isAvailable(ServerPlayer player, String questId) {
+        return syncAvailability(player).available.contains(questId);
+    }
+
+    /**
+     * Bringt die Verfügbarkeit eines Spielers auf den aktuellen Stand.
+     *
+     * Beim ersten Aufruf (bzw. nach neuer Quest-Registrierung oder neu geladenen Daten) wird jede
+     * Quest einmal bewertet. Danach nur noch Quests mit geändertem Status und deren direkte
+     * Abhängige laut QuestGraph – Auto-Aktivierungen dabei ziehen ihre Abhängigen ebenfalls nach.
+     */
+    private Availability syncAvailability(ServerPlayer player) {
+        PlayerQuestData data = getPlayerData(player);
+        QuestGraph graph = getQuestGraph();
+
+        Availability av = availability.get(player.getUUID());
+        if (av == null || av.data != data || av.graphVersion != graph.version) {
+            data.drainStatusChanges(); // Vollbewertung deckt alles ab
+            av = new Availability(data, graph.version);
+            for (String questId : graph.order()) {
+                reevaluate(player, av, questId);
+            }
+            availability.put(player.getUUID(), av);
+        }
+
+        List<String> changed;
+        while (!(changed = data.drainStatusChanges()).isEmpty()) {
+            for (String questId : changed) {
+                reevaluate(player, av, questId);
+                for (String dependent : graph.dependents(questId)) {
+                    reevaluate(player, av, dependent);
+                }
             }
         }
-        return available;
+        return av;
+    }
+
+    private void reevaluate(ServerPlayer player, Availability av, String questId) {
+        // getEffectiveStatus kann auto-aktivieren -> neue Statusänderung für die nächste Runde
+        if (getEffectiveStatus(player, questId) == QuestStatus.AVAILABLE) {
+            av.available.add(questId);
+        } else {
+            av.available.remove(questId);
+        }
+    }
+
+    private QuestGraph getQuestGraph() {
+        return registry.graph();
     }
 
     /**
@@ -237,7 +473,7 @@ public final class QuestManager {
         PlayerQuestData data = getPlayerData(player);
         List<String> readyQuests = new java.util.ArrayList<>();
 
-        for (Quest quest : quests.values()) {
+        for (Quest quest : getAllQuests()) {
             QuestStatus status = data.getStatus(quest.getFullId());
             if (status == QuestStatus.ACTIVE || status == QuestStatus.READY_TO_COMPLETE) {
                 if (areAllObjectivesComplete(quest, data, quest.getFullId())) {
@@ -260,11 +496,12 @@ public final class QuestManager {
      * Prüft ob ein Spieler nach einer Quest-Aktion neue Quests verfügbar hat.
      */
     public void checkAndNotifyNewQuests(ServerPlayer player, Set<String> previouslyAvailable) {
-        Set<String> nowAvailable = getAvailableQuests(player);
-        
-        Set<String> newQuests = new HashSet<>(nowAvailable);
-        newQuests.removeAll(previouslyAvailable);
-        
+        // Inkrementell aktualisiert: nur die Abhängigen der geänderten Quests wurden neu bewertet
+        Set<String> newQuests = new HashSet<>();
+        for (String questId : syncAvailability(player).available) {
+            if (!previouslyAvailable.contains(questId)) newQuests.add(questId);
+        }
+
         if (newQuests.isEmpty()) {
             return;
         }
@@ -453,7 +690,7 @@ public final class QuestManager {
 
         // COLLECT_ITEM Items aus dem Inventar entfernen (nur wenn consume=true)
         for (QuestObjective obj : quest.getObjectivesByType(QuestType.COLLECT_ITEM)) {
-            String itemId = obj.getFilterString("item");
+            String itemId = obj.getMatcher().item();
             if (itemId != null && obj.shouldConsumeItems()) {
                 int required = obj.getTarget();
                 boolean removed = com.ichezzy.evolutionboost.compat.cobblemon.QuestItemHook
@@ -556,65 +793,99 @@ public final class QuestManager {
      */
     public void processProgress(ServerPlayer player, QuestType type,
                                 java.util.function.Predicate<QuestObjective> matchFn, int amount) {
+        processProgress(player, type, null, null, null, matchFn, amount);
+    }
+
+    /**
+     * Wie {@link #processProgress(ServerPlayer, QuestType, java.util.function.Predicate, int)},
+     * geht aber nur die Objectives durch, die laut ObjectiveIndex zu Species/Typen passen können.
+     * {@code null} = nach diesem Merkmal nicht einschränken.
+     */
+    public void processProgress(ServerPlayer player, QuestType type,
+                                String species, String primaryType, String secondaryType,
+                                java.util.function.Predicate<QuestObjective> matchFn, int amount) {
         PlayerQuestData data = getPlayerData(player);
 
-        for (String questId : data.getActiveQuests()) {
-            Optional<Quest> questOpt = getQuest(questId);
-            if (questOpt.isEmpty()) continue;
-
-            Quest quest = questOpt.get();
-            boolean anyProgress = false;
-
-            for (QuestObjective obj : quest.getObjectivesByType(type)) {
-                if (matchFn.test(obj)) {
-                    int current = data.getObjectiveProgress(questId, obj.getId());
-                    if (current < obj.getTarget()) {
-                        int newProgress = data.incrementObjectiveProgress(questId, obj.getId(), amount);
-                        anyProgress = true;
-
-                        // Fortschritts-Nachricht mit Quest-Name
-                        if (newProgress >= obj.getTarget()) {
-                            // Objective abgeschlossen
-                            player.sendSystemMessage(Component.literal("[" + quest.getName() + "] ")
-                                    .withStyle(ChatFormatting.GREEN)
-                                    .append(Component.literal("✓ " + obj.getDescription() + " ")
-                                            .withStyle(ChatFormatting.WHITE))
-                                    .append(Component.literal("[" + newProgress + "/" + obj.getTarget() + "]")
-                                            .withStyle(ChatFormatting.GREEN)));
-                        } else {
-                            // Fortschritt
-                            player.sendSystemMessage(Component.literal("[" + quest.getName() + "] ")
-                                    .withStyle(ChatFormatting.GOLD)
-                                    .append(Component.literal(obj.getDescription() + " ")
-                                            .withStyle(ChatFormatting.WHITE))
-                                    .append(Component.literal("[" + newProgress + "/" + obj.getTarget() + "]")
-                                            .withStyle(ChatFormatting.YELLOW)));
-                        }
+        // Quests mit Fortschritt in diesem Aufruf (Reihenfolge für die Abschluss-Meldungen)
+        Map<String, Quest> progressed = null;
+
+        for (ObjectiveIndex.Entry entry : getObjectiveIndex(data).candidates(type, species, primaryType, secondaryType)) {
+            String questId = entry.questId();
+            Quest quest = entry.quest();
+            QuestObjective obj = entry.objective();
+
+            if (matchFn.test(obj)) {
+                int current = data.getObjectiveProgress(questId, obj.getId());
+                if (current < obj.getTarget()) {
+                    int newProgress = data.incrementObjectiveProgress(questId, obj.getId(), amount);
+                    if (progressed == null) progressed = new LinkedHashMap<>();
+                    progressed.put(questId, quest);
+
+                    // Fortschritts-Nachricht mit Quest-Name
+                    if (newProgress >= obj.getTarget()) {
+                        // Objective abgeschlossen
+                        player.sendSystemMessage(Component.literal("[" + quest.getName() + "] ")
+                                .withStyle(ChatFormatting.GREEN)
+                                .append(Component.literal("✓ " + obj.getDescription() + " ")
+                                        .withStyle(ChatFormatting.WHITE))
+                                .append(Component.literal("[" + newProgress + "/" + obj.getTarget() + "]")
+                                        .withStyle(ChatFormatting.GREEN)));
+                    } else {
+                        // Fortschritt
+                        player.sendSystemMessage(Component.literal("[" + quest.getName() + "] ")
+                                .withStyle(ChatFormatting.GOLD)
+                                .append(Component.literal(obj.getDescription() + " ")
+                                        .withStyle(ChatFormatting.WHITE))
+                                .append(Component.literal("[" + newProgress + "/" + obj.getTarget() + "]")
+                                        .withStyle(ChatFormatting.YELLOW)));
                     }
                 }
             }
+        }
 
-            // Prüfe ob Quest jetzt abschlussbereit
-            if (anyProgress && areAllObjectivesComplete(quest, data, questId)) {
-                data.setStatus(questId, QuestStatus.READY_TO_COMPLETE);
-                player.sendSystemMessage(Component.literal("══════════════════════════════")
-                        .withStyle(ChatFormatting.GREEN));
-                player.sendSystemMessage(Component.literal("  ★ QUEST COMPLETE ★")
-                        .withStyle(ChatFormatting.GREEN, ChatFormatting.BOLD));
-                player.sendSystemMessage(Component.literal("  " + quest.getName())
-                        .withStyle(ChatFormatting.YELLOW));
-                player.sendSystemMessage(Component.literal("  Return to claim your rewards!")
-                        .withStyle(ChatFormatting.GRAY));
-                player.sendSystemMessage(Component.literal("══════════════════════════════")
-                        .withStyle(ChatFormatting.GREEN));
-            }
+        if (progressed != null) {
+            progressed.forEach((questId, quest) -> notifyIfReady(player, data, questId, quest));
+        }
+        if (progressed != null) {
+            savePlayerData(player.getUUID()); // Write-Behind, fasst Bursts zusammen
         }
+    }
 
-        if (player.tickCount % 100 == 0) { // Nicht bei jedem Progress speichern
-            savePlayerData(player.getUUID());
+    /**
+     * Setzt eine Quest auf READY_TO_COMPLETE, sobald alle Objectives erfüllt sind.
+     */
+    private void notifyIfReady(ServerPlayer player, PlayerQuestData data, String questId, Quest quest) {
+        // Prüfe ob Quest jetzt abschlussbereit
+        if (areAllObjectivesComplete(quest, data, questId)) {
+            data.setStatus(questId, QuestStatus.READY_TO_COMPLETE);
+            player.sendSystemMessage(Component.literal("══════════════════════════════")
+                    .withStyle(ChatFormatting.GREEN));
+            player.sendSystemMessage(Component.literal("  ★ QUEST COMPLETE ★")
+                    .withStyle(ChatFormatting.GREEN, ChatFormatting.BOLD));
+            player.sendSystemMessage(Component.literal("  " + quest.getName())
+                    .withStyle(ChatFormatting.YELLOW));
+            player.sendSystemMessage(Component.literal("  Return to claim your rewards!")
+                    .withStyle(ChatFormatting.GRAY));
+            player.sendSystemMessage(Component.literal("══════════════════════════════")
+                    .withStyle(ChatFormatting.GREEN));
         }
     }
 
+    /**
+     * Holt den ObjectiveIndex eines Spielers und baut ihn neu, wenn sich seine aktiven
+     * Quests (aktivieren, abschließen, zurücksetzen) oder die Quest-Definitionen geändert haben.
+     */
+    private ObjectiveIndex getObjectiveIndex(PlayerQuestData data) {
+        ObjectiveIndex index = objectiveIndex.get(data.getPlayerId());
+        QuestRegistry reg = registry;
+        if (index == null || index.data != data
+                || index.dataVersion != data.activeVersion() || index.questsVersion != reg.version) {
+            index = ObjectiveIndex.build(data, reg.version, reg::quest);
+            objectiveIndex.put(data.getPlayerId(), index);
+        }
+        return index;
+    }
+
     /**
      * Manueller Fortschritt für CUSTOM Quest-Typ.
      */
@@ -634,6 +905,11 @@ public final class QuestManager {
                 .resolve("quests");
     }
 
+    /** Quest-Packs: eine JSON-Datei pro Questline (nicht getQuestsDir() selbst, dort liegen random_quests.json & Co.) */
+    private Path getQuestPacksDir() {
+        return getQuestsDir().resolve("packs");
+    }
+
     private Path getPlayerDataDir() {
         if (server == null) return getQuestsDir().resolve("players");
         return server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT)
@@ -641,18 +917,42 @@ public final class QuestManager {
                 .resolve("quest_progress");
     }
 
-    private void loadQuests() {
-        // Für jetzt: Hardcoded Quests
-        // Später: Aus JSON-Dateien laden
-        registerChristmasQuests();
+    /**
+     * Ersteinrichtung: Existiert der Pack-Ordner noch nicht, werden die eingebauten Quests als
+     * Pack exportiert und sind ab dann über die JSON-Datei editierbar.
+     * Nur hier, nie bei einem Reload – ein gelöschtes Pack (z.B. beendetes Event) bleibt gelöscht.
+     */
+    private void setupQuestPacks() {
+        Path packsDir = getQuestPacksDir();
+        if (Files.isDirectory(packsDir)) {
+            useBuiltInQuests = false;
+            return;
+        }
+        List<Quest> builtIn = new ArrayList<>();
+        addChristmasQuests(builtIn);
+        // Export fehlgeschlagen -> eingebaute Quests direkt verwenden
+        useBuiltInQuests = !QuestPackLoader.export(packsDir, "christmas", builtIn);
+    }
+
+    /**
+     * Sammelt alle Quest-Definitionen aus den Quest-Packs (ohne sie zu registrieren;
+     * darf abseits des Server-Threads laufen).
+     */
+    private List<Quest> collectQuests() {
+        if (useBuiltInQuests) {
+            List<Quest> builtIn = new ArrayList<>();
+            addChristmasQuests(builtIn);
+            return builtIn;
+        }
+        return QuestPackLoader.load(getQuestPacksDir());
     }
 
-    private void registerChristmasQuests() {
+    private void addChristmasQuests(List<Quest> out) {
         // ==================== CHRISTMAS 2024 MAIN QUESTS ====================
         // MQ1 benötigt unlock per NPC, MQ2-MQ5 werden durch Prerequisites freigeschaltet
 
         // MQ1: Chaos in The Toy Factory (benötigt unlock per NPC)
-        registerQuest(Quest.builder("christmas", "mq1")
+        out.add(Quest.builder("christmas", "mq1")
                 .name("Chaos in The Toy Factory")
                 .description("The toy factory has been corrupted! Defeat the wrapped Pokemon and collect the cursed gifts. Talk to Carol Tinseltoe for details.")
                 .category(QuestCategory.MAIN)
@@ -676,7 +976,7 @@ public final class QuestManager {
                 .build());
 
         // MQ2: Krampus' Curse 1
-        registerQuest(Quest.builder("christmas", "mq2")
+        out.add(Quest.builder("christmas", "mq2")
                 .name("Krampus' Curse 1")
                 .description("Krampus' minions are spreading darkness! Defeat them and collect the cursed coal. Talk to Skipper for details.")
                 .category(QuestCategory.MAIN)
@@ -697,7 +997,7 @@ public final class QuestManager {
                 .build());
 
         // MQ3: Krampus' Curse 2 (Raid Quest)
-        registerQuest(Quest.builder("christmas", "mq3")
+        out.add(Quest.builder("christmas", "mq3")
                 .name("Krampus' Curse 2")
                 .description("Face Krampus himself and obtain his corrupted heart! Talk to Fizz for details.")
                 .category(QuestCategory.MAIN)
@@ -711,7 +1011,7 @@ public final class QuestManager {
                 .build());
 
         // MQ4: Purification of the Heart
-        registerQuest(Quest.builder("christmas", "mq4")
+        out.add(Quest.builder("christmas", "mq4")
                 .name("Purification of the Heart")
                 .description("Collect holy sparks to purify the darkness and prepare for the final confrontation. Talk to the Christmas Angel for details.")
                 .category(QuestCategory.MAIN)
@@ -727,7 +1027,7 @@ public final class QuestManager {
 
         // MQ5: Wrath of the Ice Queen (Raid Quest)
         // Ice Crown wird NICHT konsumiert (consume: false)
-        registerQuest(Quest.builder("christmas", "mq5")
+        out.add(Quest.builder("christmas", "mq5")
                 .name("Wrath of the Ice Queen")
                 .description("Defeat the Ice Queen and claim her crown as proof of your victory! Talk to Frodo for details.")
                 .category(QuestCategory.MAIN)
@@ -741,13 +1041,13 @@ public final class QuestManager {
                 .reward(new QuestReward(QuestReward.RewardType.ITEM, "evolutionboost:christmas25_medal", 1))
                 .build());
 
-        EvolutionBoost.LOGGER.info("[quests] Registered 5 Christmas main quests.");
+        EvolutionBoost.LOGGER.debug("[quests] Built 5 Christmas main quests.");
 
         // ==================== CHRISTMAS 2024 SIDE QUESTS ====================
         // Alle Side Quests starten als LOCKED und werden per NPC-Command freigeschaltet
 
         // SQ1: The Grinch
-        registerQuest(Quest.builder("christmas", "sq1")
+        out.add(Quest.builder("christmas", "sq1")
                 .name("The Grinch")
                 .description("The Grinch is terrorizing the village! Defeat him to restore Christmas spirit. Talk to Santa for details.")
                 .category(QuestCategory.SIDE)
@@ -764,7 +1064,7 @@ public final class QuestManager {
                 .build());
 
         // SQ2: The Yeti
-        registerQuest(Quest.builder("christmas", "sq2")
+        out.add(Quest.builder("christmas", "sq2")
                 .name("The Yeti")
                 .description("A mighty Yeti roams the frozen tundra. Can you defeat this legendary beast? Talk to the Yeti for details.")
                 .category(QuestCategory.SIDE)
@@ -781,7 +1081,7 @@ public final class QuestManager {
                 .build());
 
         // SQ3: The Christmas Tree
-        registerQuest(Quest.builder("christmas", "sq3")
+        out.add(Quest.builder("christmas", "sq3")
                 .name("The Christmas Tree")
                 .description("The ancient Christmas Tree has awakened! Face this legendary guardian. Talk to Frodo for details.")
                 .category(QuestCategory.SIDE)
@@ -798,7 +1098,7 @@ public final class QuestManager {
                 .build());
 
         // SQ4a: Blizzy's Blissful Bakery - Part 1 (Collect) - benötigt unlock per NPC
-        registerQuest(Quest.builder("christmas", "sq4a")
+        out.add(Quest.builder("christmas", "sq4a")
                 .name("Blizzy's Blissful Bakery")
                 .description("The Gingerbread Man needs ingredients for his famous treats! Talk to the Gingerbread Man for details.")
                 .category(QuestCategory.SIDE)
@@ -813,7 +1113,7 @@ public final class QuestManager {
                 .build());
 
         // SQ4b: Blizzy's Blissful Bakery - Part 2 (Defeat) - wird automatisch nach SQ4a verfügbar
-        registerQuest(Quest.builder("christmas", "sq4b")
+        out.add(Quest.builder("christmas", "sq4b")
                 .name("Blizzy's Blissful Bakery 2")
                 .description("A wild Tinkaton is causing chaos in the bakery! Defeat it to save the gingerbread house. Talk to the Gingerbread Man for details.")
                 .category(QuestCategory.SIDE)
@@ -830,7 +1130,7 @@ public final class QuestManager {
                 .build());
 
         // SQ5: Keeper of the Frozen Lake - benötigt unlock per NPC
-        registerQuest(Quest.builder("christmas", "sq5")
+        out.add(Quest.builder("christmas", "sq5")
                 .name("Keeper of the Frozen Lake")
                 .description("Gather the mystical Spirit Dew Shards scattered across the frozen lake. Talk to Skipper for details.")
                 .category(QuestCategory.SIDE)
@@ -843,30 +1143,24 @@ public final class QuestManager {
                 .reward(new QuestReward(QuestReward.RewardType.ITEM, "evolutionboost:spirit_dew", 1))
                 .build());
 
-        EvolutionBoost.LOGGER.info("[quests] Registered 7 Christmas side quests.");
+        EvolutionBoost.LOGGER.debug("[quests] Built 7 Christmas side quests.");
     }
 
-    public void loadAllPlayerData() {
-        try {
-            Path dir = getPlayerDataDir();
-            if (!Files.exists(dir)) return;
-
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
-                for (Path file : stream) {
-                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> map = GSON.fromJson(reader, Map.class);
-                        if (map != null) {
-                            PlayerQuestData data = PlayerQuestData.fromMap(map);
-                            playerData.put(data.getPlayerId(), data);
-                        }
-                    } catch (Exception e) {
-                        EvolutionBoost.LOGGER.warn("[quests] Failed to load player data: {}", file.getFileName(), e);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            EvolutionBoost.LOGGER.warn("[quests] Failed to load player data directory", e);
+    /**
+     * Liest die Datei eines Spielers (null wenn nicht vorhanden oder defekt).
+     * Ein noch ausstehender Write-Behind derselben Datei (schneller Rejoin) wird vorher geschrieben.
+     */
+    private PlayerQuestData readPlayerData(Path file) {
+        AsyncFileWriter.flush(file);
+        if (!Files.exists(file)) return null;
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = GSON.fromJson(reader, Map.class);
+            return map != null ? PlayerQuestData.fromMap(map) : null;
+        } catch (Exception e) {
+            EvolutionBoost.LOGGER.warn("[quests] Failed to load player data: {}", file.getFileName(), e);
+            return null;
         }
     }
 
@@ -876,21 +1170,37 @@ public final class QuestManager {
         }
     }
 
+    /**
+     * Markiert die Daten eines Spielers als geändert. Geschrieben wird per Write-Behind
+     * (AsyncFileWriter): mehrere Änderungen im Debounce-Fenster ergeben einen Schreibvorgang,
+     * Serialisierung und Disk-I/O laufen auf dem IO-Thread (.tmp + atomarer Move).
+     */
     public void savePlayerData(UUID playerId) {
         PlayerQuestData data = playerData.get(playerId);
+        if (data == null) data = offlineCache.get(playerId);
         if (data == null) return;
 
-        try {
-            Path dir = getPlayerDataDir();
-            Files.createDirectories(dir);
-            Path file = dir.resolve(playerId.toString() + ".json");
+        PlayerQuestData snapshotSource = data;
 
-            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
-                GSON.toJson(data.toMap(), writer);
-            }
-        } catch (IOException e) {
-            EvolutionBoost.LOGGER.warn("[quests] Failed to save player data for {}", playerId, e);
-        }
+        AsyncFileWriter.schedule(getPlayerDataFile(playerId), () -> GSON.toJson(snapshotSource.toMap()));
+    }
+
+    /**
+     * Spieler-Disconnect: ausstehende Änderungen sofort schreiben (ohne den Server-Thread zu blockieren)
+     * und die Daten ins LRU verschieben.
+     */
+    public void onPlayerDisconnect(UUID playerId) {
+        AsyncFileWriter.flushAsync(getPlayerDataFile(playerId));
+
+        // Aus dem Online-Bestand ins LRU verschieben
+        objectiveIndex.remove(playerId);
+        availability.remove(playerId);
+        PlayerQuestData data = playerData.remove(playerId);
+        if (data != null) offlineCache.put(playerId, data);
+    }
+
+    private Path getPlayerDataFile(UUID playerId) {
+        return getPlayerDataDir().resolve(playerId.toString() + ".json");
     }
 
     // ==================== Info Display ====================
@@ -12,6 +12,7 @@ public class QuestObjective {
     private final String description;
     private final int target;
     private final Map<String, Object> filter;
+    private final ObjectiveMatcher matcher;
 
     public QuestObjective(String id, QuestType type, String description, int target, Map<String, Object> filter) {
         this.id = id;
@@ -19,6 +20,7 @@ public class QuestObjective {
         this.description = description;
         this.target = target;
         this.filter = filter != null ? new HashMap<>(filter) : new HashMap<>();
+        this.matcher = ObjectiveMatcher.compile(this);
     }
 
     public String getId() {
@@ -41,6 +43,13 @@ public class QuestObjective {
         return Collections.unmodifiableMap(filter);
     }
 
+    /**
+     * Vorkompilierter Filter für die Hooks.
+     */
+    public ObjectiveMatcher getMatcher() {
+        return matcher;
+    }
+
     // ==================== Filter-Helper ====================
 
     /**
@@ -103,51 +112,13 @@ public class QuestObjective {
      * @param species Pokemon-Species (lowercase)
      * @param primaryType Primärer Typ (lowercase)
      * @param secondaryType Sekundärer Typ (lowercase, kann null sein)
-     * @param aspects Liste der Aspects (lowercase)
+     * @param aspects Aspects (lowercase)
      * @param level Pokemon-Level
      * @param isShiny Ob shiny
      */
     public boolean matchesPokemon(String species, String primaryType, String secondaryType,
-                                   List<String> aspects, int level, boolean isShiny) {
-        // Species-Filter
-        List<String> speciesFilter = getFilterList("species");
-        if (!speciesFilter.isEmpty()) {
-            boolean match = speciesFilter.stream()
-                    .anyMatch(s -> s.equalsIgnoreCase(species));
-            if (!match) return false;
-        }
-
-        // Type-Filter
-        List<String> typeFilter = getFilterList("types");
-        if (!typeFilter.isEmpty()) {
-            boolean match = typeFilter.stream()
-                    .anyMatch(t -> t.equalsIgnoreCase(primaryType) ||
-                            (secondaryType != null && t.equalsIgnoreCase(secondaryType)));
-            if (!match) return false;
-        }
-
-        // Aspect-Filter (alle angegebenen Aspects müssen vorhanden sein)
-        List<String> aspectFilter = getFilterList("aspects");
-        if (!aspectFilter.isEmpty()) {
-            for (String requiredAspect : aspectFilter) {
-                boolean found = aspects.stream()
-                        .anyMatch(a -> a.equalsIgnoreCase(requiredAspect));
-                if (!found) return false;
-            }
-        }
-
-        // Level-Filter
-        Integer minLevel = getFilterInt("minLevel");
-        if (minLevel != null && level < minLevel) return false;
-
-        Integer maxLevel = getFilterInt("maxLevel");
-        if (maxLevel != null && level > maxLevel) return false;
-
-        // Shiny-Filter
-        Boolean shinyRequired = getFilterBoolean("shiny");
-        if (shinyRequired != null && shinyRequired && !isShiny) return false;
-
-        return true;
+                                   Collection<String> aspects, int level, boolean isShiny) {
+        return matcher.matchesPokemon(species, primaryType, secondaryType, aspects, level, isShiny);
     }
 
     /**
@@ -155,11 +126,7 @@ public class QuestObjective {
      * @param itemId Item-ID (z.B. "evolutionboost:holy_spark")
      */
     public boolean matchesItem(String itemId) {
-        String itemFilter = getFilterString("item");
-        if (itemFilter != null) {
-            return itemFilter.equalsIgnoreCase(itemId);
-        }
-        return true; // Kein Filter = alles matched
+        return matcher.matchesItem(itemId); // Kein Filter = alles matched
     }
 
     /**
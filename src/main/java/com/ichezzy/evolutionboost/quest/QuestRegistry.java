@@ -0,0 +1,73 @@
+package com.ichezzy.evolutionboost.quest;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+
+import java.util.*;
+
+/**
+ * Unveränderlicher Stand aller Quest-Definitionen: Quests, sortierte Questlines und Prerequisite-Graph.
+ *
+ * Wird komplett gebaut (auch abseits des Server-Threads), jede Questline genau einmal sortiert,
+ * und dann im QuestManager mit einem einzigen volatile-Write veröffentlicht. Leser sehen damit
+ * immer entweder den alten oder den neuen Stand, nie einen halb registrierten.
+ */
+final class QuestRegistry {
+
+    static final QuestRegistry EMPTY = new QuestRegistry(Map.of(), Map.of(), QuestGraph.build(List.of(), 0), 0);
+
+    private final Map<String, Quest> quests;
+    private final Map<String, List<Quest>> questLines;
+    private final QuestGraph graph;
+    final long version;
+
+    private QuestRegistry(Map<String, Quest> quests, Map<String, List<Quest>> questLines,
+                          QuestGraph graph, long version) {
+        this.quests = quests;
+        this.questLines = questLines;
+        this.graph = graph;
+        this.version = version;
+    }
+
+    /**
+     * Baut einen neuen Stand aus {@code base} (kann {@link #EMPTY} sein) plus {@code added}.
+     * Bei gleicher Full-ID gewinnt die zuletzt übergebene Quest.
+     */
+    static QuestRegistry build(QuestRegistry base, Collection<Quest> added, long version) {
+        Map<String, Quest> quests = new LinkedHashMap<>(base.quests);
+        Set<String> seen = new HashSet<>();
+        for (Quest quest : added) {
+            if (!seen.add(quest.getFullId())) {
+                EvolutionBoost.LOGGER.warn("[quests] Duplicate quest id '{}' – keeping the last definition.", quest.getFullId());
+            }
+            quests.put(quest.getFullId(), quest);
+        }
+
+        Map<String, List<Quest>> lines = new LinkedHashMap<>();
+        for (Quest quest : quests.values()) {
+            lines.computeIfAbsent(quest.getQuestLine(), k -> new ArrayList<>()).add(quest);
+        }
+        lines.replaceAll((line, list) -> {
+            list.sort(Comparator.comparingInt(Quest::getSortOrder));
+            return List.copyOf(list);
+        });
+
+        return new QuestRegistry(Collections.unmodifiableMap(quests), Collections.unmodifiableMap(lines),
+                QuestGraph.build(quests.values(), version), version);
+    }
+
+    Quest quest(String fullId) {
+        return quests.get(fullId);
+    }
+
+    Map<String, Quest> quests() {
+        return quests;
+    }
+
+    Map<String, List<Quest>> questLines() {
+        return questLines;
+    }
+
+    QuestGraph graph() {
+        return graph;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ichezzy.evolutionboost.quest.pack;
+
+import com.ichezzy.evolutionboost.quest.Quest;
+import com.ichezzy.evolutionboost.quest.QuestObjective;
+import com.ichezzy.evolutionboost.quest.QuestReward;
+
+import java.util.*;
+
+/**
+ * JSON-Format eines Quest-Packs (config/evolutionboost/quests/packs/*.json).
+ * Eine Datei = eine Questline.
+ *
+ * <pre>
+ * {
+ *   "questLine": "christmas",
+ *   "quests": [
+ *     {
+ *       "id": "mq1", "name": "...", "description": "...",
+ *       "category": "MAIN", "sortOrder": 1,
+ *       "autoActivate": false, "requiresUnlock": true,
+ *       "prerequisites": ["mq0"],                 // ohne ":" = gleiche Questline
+ *       "objectives": [
+ *         { "id": "defeat_wrapped", "type": "DEFEAT", "description": "...", "target": 50,
+ *           "filter": { "species": ["oddish"], "aspects": ["christmas"] } }
+ *       ],
+ *       "rewards": [ { "type": "ITEM", "value": "evolutionboost:evolution_coin_silver", "count": 5 } ]
+ *     }
+ *   ]
+ * }
+ * </pre>
+ */
+public class QuestPack {
+
+    /** Questline aller Quests in dieser Datei */
+    public String questLine;
+
+    public List<QuestDef> quests = new ArrayList<>();
+
+    // ==================== Inner Classes ====================
+
+    public static class QuestDef {
+        public String id;
+        public String name;
+        public String description = "";
+        /** QuestCategory (MAIN, SIDE, EVENT, ...) */
+        public String category = "SIDE";
+        public int sortOrder = 0;
+        public boolean autoActivate = false;
+        public boolean hidden = false;
+        public boolean requiresUnlock = false;
+        public List<String> prerequisites = new ArrayList<>();
+        public List<ObjectiveDef> objectives = new ArrayList<>();
+        public List<RewardDef> rewards = new ArrayList<>();
+    }
+
+    public static class ObjectiveDef {
+        public String id;
+        /** QuestType (CATCH, DEFEAT, COLLECT_ITEM, ...) */
+        public String type;
+        public String description = "";
+        public int target = 1;
+        /** Filter wie bei QuestObjective (species, types, aspects, minLevel, maxLevel, shiny, item, consume) */
+        public Map<String, Object> filter = new LinkedHashMap<>();
+    }
+
+    public static class RewardDef {
+        /** QuestReward.RewardType (ITEM, POKEMON, XP, COMMAND) */
+        public String type = "ITEM";
+        /** Item-ID, Pokemon-Species, XP-Menge oder Command */
+        public String value;
+        public int count = 1;
+        public String extra;
+    }
+
+    // ==================== Export ====================
+
+    /**
+     * Wandelt registrierte Quests einer Questline in ein Pack (Export der eingebauten Quests).
+     */
+    public static QuestPack of(String questLine, List<Quest> quests) {
+        QuestPack pack = new QuestPack();
+        pack.questLine = questLine;
+
+        for (Quest quest : quests) {
+            QuestDef def = new QuestDef();
+            def.id = quest.getId();
+            def.name = quest.getName();
+            def.description = quest.getDescription();
+            def.category = quest.getCategory().name();
+            def.sortOrder = quest.getSortOrder();
+            def.autoActivate = quest.isAutoActivate();
+            def.hidden = quest.isHidden();
+            def.requiresUnlock = quest.requiresUnlock();
+            def.prerequisites = new ArrayList<>(quest.getPrerequisites());
+
+            for (QuestObjective obj : quest.getObjectives()) {
+                ObjectiveDef o = new ObjectiveDef();
+                o.id = obj.getId();
+                o.type = obj.getType().name();
+                o.description = obj.getDescription();
+                o.target = obj.getTarget();
+                o.filter = new TreeMap<>(obj.getFilter());
+                def.objectives.add(o);
+            }
+
+            for (QuestReward reward : quest.getRewards()) {
+                RewardDef r = new RewardDef();
+                r.type = reward.getType().name();
+                r.value = reward.getValue();
+                r.count = reward.getCount();
+                r.extra = reward.getExtra();
+                def.rewards.add(r);
+            }
+
+            pack.quests.add(def);
+        }
+        return pack;
+    }
+}
@@ -0,0 +1,275 @@
+package com.ichezzy.evolutionboost.quest.pack;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.quest.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Lädt Quest-Packs (eine JSON-Datei pro Questline) aus dem Pack-Ordner.
+ *
+ * - Jede Datei wird auf einem eigenen Worker geparst und validiert; dabei entstehen direkt die
+ *   fertigen Quest-Objekte inkl. vorkompilierter ObjectiveMatcher.
+ * - Ist eine Datei fehlerhaft (JSON-Fehler oder ungültige Quest), bleibt ihr letzter gültiger
+ *   Stand erhalten – ein Tippfehler beim Editieren lässt keine Quests verschwinden.
+ * - Registriert wird hier nichts; das Ergebnis geht an QuestManager und wird dort atomar getauscht.
+ */
+public final class QuestPackLoader {
+    private QuestPackLoader() {}
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), r -> {
+                Thread t = new Thread(r, "EvolutionBoost-QuestLoader-" + THREADS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    /** Datei -> Quests des letzten fehlerfreien Ladens */
+    private static final Map<Path, List<Quest>> LAST_GOOD = new ConcurrentHashMap<>();
+
+    /** Ergebnis einer Datei: Quests oder Fehlerliste. */
+    private record FileResult(Path file, List<Quest> quests, List<String> problems) {}
+
+    // ==================== Laden ====================
+
+    /**
+     * Lädt alle *.json-Packs aus {@code dir} parallel.
+     * Blockiert bis alle Dateien fertig sind. Auf dem Server-Thread nur einmalig beim Start
+     * (QuestManager.init, Quests müssen vor dem ersten Join stehen); Reloads laufen asynchron.
+     */
+    public static List<Quest> load(Path dir) {
+        List<Path> files = listPacks(dir);
+
+        List<CompletableFuture<FileResult>> futures = new ArrayList<>(files.size());
+        for (Path file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> parseFile(file), WORKERS));
+        }
+
+        List<Quest> all = new ArrayList<>();
+        for (CompletableFuture<FileResult> future : futures) {
+            FileResult result = future.join();
+            if (result.problems().isEmpty()) {
+                LAST_GOOD.put(result.file(), result.quests());
+                all.addAll(result.quests());
+                continue;
+            }
+
+            List<Quest> previous = LAST_GOOD.get(result.file());
+            EvolutionBoost.LOGGER.warn("[quests] Quest pack {} is invalid{}:", result.file().getFileName(),
+                    previous != null ? " – keeping the previous version" : " – skipped");
+            for (String problem : result.problems()) {
+                EvolutionBoost.LOGGER.warn("[quests]   {}", problem);
+            }
+            if (previous != null) all.addAll(previous);
+        }
+
+        // Gelöschte Dateien nicht mehr als Fallback vorhalten
+        LAST_GOOD.keySet().retainAll(new HashSet<>(files));
+
+        warnUnknownPrerequisites(all);
+        EvolutionBoost.LOGGER.debug("[quests] Loaded {} quests from {} pack(s).", all.size(), files.size());
+        return all;
+    }
+
+    private static List<Path> listPacks(Path dir) {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.filter(QuestPackLoader::isPackFile)
+                    .filter(Files::isRegularFile)
+                    .sorted() // gleiche Reihenfolge bei doppelten IDs
+                    .toList();
+        } catch (IOException e) {
+            EvolutionBoost.LOGGER.error("[quests] Failed to list quest packs in {}: {}", dir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    static boolean isPackFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".json") && !name.startsWith(".");
+    }
+
+    private static FileResult parseFile(Path file) {
+        List<String> problems = new ArrayList<>();
+        QuestPack pack;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            pack = GSON.fromJson(reader, QuestPack.class);
+        } catch (IOException | JsonParseException e) {
+            problems.add("Cannot read: " + e.getMessage());
+            return new FileResult(file, List.of(), problems);
+        }
+
+        if (pack == null) {
+            problems.add("File is empty");
+            return new FileResult(file, List.of(), problems);
+        }
+        if (isBlank(pack.questLine) || pack.questLine.contains(":")) {
+            problems.add("'questLine' is missing or contains ':'");
+            return new FileResult(file, List.of(), problems);
+        }
+
+        List<Quest> quests = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        List<QuestPack.QuestDef> defs = pack.quests != null ? pack.quests : List.of();
+        for (int i = 0; i < defs.size(); i++) {
+            QuestPack.QuestDef def = defs.get(i);
+            if (def == null) {
+                problems.add("quests[" + i + "] is null");
+                continue;
+            }
+            String where = "quest '" + (def.id != null ? def.id : "#" + i) + "'";
+            if (def.id != null && !ids.add(def.id)) {
+                problems.add(where + ": duplicate id");
+                continue;
+            }
+            Quest quest = toQuest(pack.questLine, def, where, problems);
+            if (quest != null) quests.add(quest);
+        }
+
+        return new FileResult(file, List.copyOf(quests), problems);
+    }
+
+    // ==================== Validierung ====================
+
+    /** Baut die Quest oder gibt null zurück und trägt die Gründe in {@code problems} ein. */
+    private static Quest toQuest(String questLine, QuestPack.QuestDef def, String where, List<String> problems) {
+        int before = problems.size();
+
+        if (isBlank(def.id) || def.id.contains(":")) {
+            problems.add(where + ": 'id' is missing or contains ':'");
+        }
+        QuestCategory category = parseEnum(QuestCategory.class, def.category, where + ": category", problems);
+
+        List<QuestObjective> objectives = new ArrayList<>();
+        Set<String> objectiveIds = new HashSet<>();
+        if (def.objectives == null || def.objectives.isEmpty()) {
+            problems.add(where + ": no objectives");
+        } else {
+            for (QuestPack.ObjectiveDef o : def.objectives) {
+                if (o == null || isBlank(o.id)) {
+                    problems.add(where + ": objective without 'id'");
+                    continue;
+                }
+                String objWhere = where + " objective '" + o.id + "'";
+                if (!objectiveIds.add(o.id)) problems.add(objWhere + ": duplicate id");
+                QuestType type = parseEnum(QuestType.class, o.type, objWhere + ": type", problems);
+                if (o.target < 1) problems.add(objWhere + ": 'target' must be at least 1");
+                if (type != null && o.target >= 1) {
+                    // Konstruktor kompiliert den ObjectiveMatcher – passiert hier auf dem Worker
+                    objectives.add(new QuestObjective(o.id, type, nullToEmpty(o.description), o.target, o.filter));
+                }
+            }
+        }
+
+        List<QuestReward> rewards = new ArrayList<>();
+        if (def.rewards != null) {
+            for (QuestPack.RewardDef r : def.rewards) {
+                if (r == null) continue;
+                QuestReward.RewardType type = parseEnum(QuestReward.RewardType.class, r.type, where + ": reward type", problems);
+                if (isBlank(r.value)) problems.add(where + ": reward without 'value'");
+                boolean badCount = type == QuestReward.RewardType.ITEM && r.count < 1;
+                if (badCount) problems.add(where + ": item reward 'count' must be at least 1");
+                if (type != null && !isBlank(r.value) && !badCount) {
+                    rewards.add(new QuestReward(type, r.value, r.count, r.extra));
+                }
+            }
+        }
+
+        if (problems.size() > before) return null;
+
+        // Prerequisites ohne ":" beziehen sich auf dieselbe Questline
+        List<String> prerequisites = new ArrayList<>();
+        if (def.prerequisites != null) {
+            for (String prereq : def.prerequisites) {
+                if (isBlank(prereq)) continue;
+                prerequisites.add(prereq.contains(":") ? prereq : questLine + ":" + prereq);
+            }
+        }
+
+        return Quest.builder(questLine, def.id)
+                .name(isBlank(def.name) ? def.id : def.name)
+                .description(nullToEmpty(def.description))
+                .category(category)
+                .sortOrder(def.sortOrder)
+                .autoActivate(def.autoActivate)
+                .hidden(def.hidden)
+                .requiresUnlock(def.requiresUnlock)
+                .prerequisites(prerequisites)
+                .objectives(objectives)
+                .rewards(rewards)
+                .build();
+    }
+
+    private static void warnUnknownPrerequisites(List<Quest> quests) {
+        Set<String> known = new HashSet<>();
+        for (Quest quest : quests) known.add(quest.getFullId());
+        for (Quest quest : quests) {
+            for (String prereq : quest.getPrerequisites()) {
+                if (!known.contains(prereq)) {
+                    EvolutionBoost.LOGGER.warn("[quests] Quest {} requires unknown quest {} – it can never unlock.",
+                            quest.getFullId(), prereq);
+                }
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String what, List<String> problems) {
+        if (!isBlank(value)) {
+            try {
+                return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        problems.add(what + " '" + value + "' is not one of " + Arrays.toString(type.getEnumConstants()));
+        return null;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static String nullToEmpty(String s) {
+        return s != null ? s : "";
+    }
+
+    // ==================== Export ====================
+
+    /**
+     * Schreibt eingebaute Quests einer Questline als Pack ({@code <questLine>.json}),
+     * damit sie ab dann über die Datei editierbar sind.
+     *
+     * @return true wenn die Datei geschrieben wurde
+     */
+    public static boolean export(Path dir, String questLine, List<Quest> quests) {
+        Path file = dir.resolve(questLine + ".json");
+        try {
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve("." + questLine + ".json.tmp"); // .-Präfix: wird nicht als Pack gelesen
+            Files.writeString(tmp, GSON.toJson(QuestPack.of(questLine, quests)), StandardCharsets.UTF_8);
+            Files.move(tmp, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            EvolutionBoost.LOGGER.info("[quests] Exported {} built-in quests to {}", quests.size(), file);
+            return true;
+        } catch (IOException e) {
+            EvolutionBoost.LOGGER.error("[quests] Failed to export quest pack {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
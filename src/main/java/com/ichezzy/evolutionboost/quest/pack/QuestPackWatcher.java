@@ -0,0 +1,106 @@
+package com.ichezzy.evolutionboost.quest.pack;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Beobachtet den Pack-Ordner per WatchService und löst bei Änderungen an *.json einen Reload aus.
+ *
+ * Editoren schreiben oft mehrfach (Temp-Datei, Rename, Modify) – Events werden daher gesammelt,
+ * bis {@link #DEBOUNCE_MS} lang Ruhe ist, und dann genau ein Reload gestartet.
+ * Läuft auf einem eigenen Daemon-Thread; der Reload selbst (Parsen + Tausch) läuft asynchron –
+ * {@code onChange} stößt ihn nur an und muss Fehler des Reloads selbst loggen.
+ */
+public final class QuestPackWatcher {
+
+    private static final long DEBOUNCE_MS = 500L;
+
+    private final Path dir;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private QuestPackWatcher(Path dir, Runnable onChange) throws IOException {
+        this.dir = dir;
+        this.onChange = onChange;
+        this.watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "EvolutionBoost-QuestWatcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Startet einen Watcher für {@code dir} (wird bei Bedarf angelegt).
+     *
+     * @return der laufende Watcher oder null, wenn der Ordner nicht beobachtet werden kann
+     */
+    public static QuestPackWatcher start(Path dir, Runnable onChange) {
+        try {
+            Files.createDirectories(dir);
+            QuestPackWatcher watcher = new QuestPackWatcher(dir, onChange);
+            watcher.thread.start();
+            EvolutionBoost.LOGGER.info("[quests] Watching {} for quest pack changes.", dir);
+            return watcher;
+        } catch (IOException | UnsupportedOperationException e) {
+            EvolutionBoost.LOGGER.warn("[quests] Quest pack hot reload unavailable: {}", e.toString());
+            return null;
+        }
+    }
+
+    /** Beendet den Watcher-Thread. */
+    public void stop() {
+        try {
+            watchService.close(); // weckt take()/poll() mit ClosedWatchServiceException
+        } catch (IOException e) {
+            EvolutionBoost.LOGGER.warn("[quests] Closing quest pack watcher failed: {}", e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+
+                // Entprellen: weitere Events einsammeln, bis DEBOUNCE_MS lang nichts mehr kommt
+                while ((key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+
+                if (changed) {
+                    EvolutionBoost.LOGGER.info("[quests] Quest packs changed, reloading...");
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        EvolutionBoost.LOGGER.error("[quests] Quest pack reload failed: {}", e.toString());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stop()
+        }
+    }
+
+    /** true, wenn der Key ein relevantes Event enthielt (oder Events verloren gingen). */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+            } else if (event.context() instanceof Path name && QuestPackLoader.isPackFile(name)) {
+                relevant = true;
+            }
+        }
+        if (!key.reset()) {
+            EvolutionBoost.LOGGER.warn("[quests] Quest pack directory {} is no longer watched.", dir);
+        }
+        return relevant;
+    }
+}
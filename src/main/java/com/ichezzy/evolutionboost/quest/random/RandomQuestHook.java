@@ -7,6 +7,9 @@ import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.battles.actor.PlayerBattleActor;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.util.DeferredWork;
+import com.ichezzy.evolutionboost.util.HookErrors;
+import com.ichezzy.evolutionboost.util.HookMetrics;
 import kotlin.Unit;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -40,9 +43,20 @@ public class RandomQuestHook {
             "wochien", "chiyu", "ogerpon", "terapagos", "pecharunt"
     );
 
+    private static final HookErrors.Channel CAPTURE_ERRORS =
+            HookErrors.channel("random-capture", "[random-quest] Error in catch event", true);
+    private static final HookErrors.Channel VICTORY_ERRORS =
+            HookErrors.channel("random-victory", "[random-quest] Error in battle victory event", true);
+    private static final HookErrors.Channel EVOLUTION_ERRORS =
+            HookErrors.channel("random-evolution", "[random-quest] Error in evolution event", true);
+    private static final HookErrors.Channel LEVELUP_ERRORS =
+            HookErrors.channel("random-levelup", "[random-quest] Error in level up event", true);
+    private static final HookErrors.Channel XP_ERRORS =
+            HookErrors.channel("random-xp", "[random-quest] Error in XP event", true);
+
     public static void register() {
         // ==================== Catch Events ====================
-        CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, HookMetrics.timed("random-capture", event -> {
             try {
                 ServerPlayer player = event.getPlayer();
                 Pokemon pokemon = event.getPokemon();
@@ -50,50 +64,49 @@ public class RandomQuestHook {
                 if (player == null || pokemon == null) return Unit.INSTANCE;
 
                 UUID playerId = player.getUUID();
-                RandomQuestManager manager = RandomQuestManager.get();
 
                 // CATCH_ANY
-                manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_ANY, 1, null);
+                progress(playerId, RandomQuestObjectiveType.CATCH_ANY, 1, null);
 
                 // CATCH_TYPE - für jeden Typ des Pokémon
                 for (ElementalType type : pokemon.getTypes()) {
-                    manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_TYPE, 1, type.getName().toLowerCase());
+                    progress(playerId, RandomQuestObjectiveType.CATCH_TYPE, 1, type.getName().toLowerCase());
                 }
 
                 // CATCH_SHINY
                 if (pokemon.getShiny()) {
-                    manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_SHINY, 1, null);
+                    progress(playerId, RandomQuestObjectiveType.CATCH_SHINY, 1, null);
                 }
 
                 // CATCH_LEGENDARY
                 String speciesName = pokemon.getSpecies().getName().toLowerCase();
                 if (LEGENDARIES.contains(speciesName)) {
-                    manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_LEGENDARY, 1, null);
+                    progress(playerId, RandomQuestObjectiveType.CATCH_LEGENDARY, 1, null);
                 }
 
                 // CATCH_HA - Hidden Ability
                 if (hasHiddenAbility(pokemon)) {
-                    manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_HA, 1, null);
+                    progress(playerId, RandomQuestObjectiveType.CATCH_HA, 1, null);
                 }
 
                 // CATCH_NATURE
                 if (pokemon.getNature() != null) {
                     String natureName = pokemon.getNature().getName().getPath().toLowerCase();
-                    manager.addProgress(playerId, RandomQuestObjectiveType.CATCH_NATURE, 1, natureName);
+                    progress(playerId, RandomQuestObjectiveType.CATCH_NATURE, 1, natureName);
                 }
 
                 EvolutionBoost.LOGGER.debug("[random-quest] Player {} caught {} (Types: {})",
                         player.getName().getString(), speciesName, pokemon.getTypes());
 
             } catch (Exception e) {
-                EvolutionBoost.LOGGER.debug("[random-quest] Error in catch event: {}", e.getMessage());
+                CAPTURE_ERRORS.report(e);
             }
 
             return Unit.INSTANCE;
-        });
+        }));
 
         // ==================== Battle Victory Events ====================
-        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, HookMetrics.timed("random-victory", event -> {
             try {
                 // Alle Gewinner durchgehen
                 for (var winner : event.getWinners()) {
@@ -105,10 +118,9 @@ public class RandomQuestHook {
                     if (player == null) continue;
 
                     UUID playerId = player.getUUID();
-                    RandomQuestManager manager = RandomQuestManager.get();
 
                     // WIN_BATTLE
-                    manager.addProgress(playerId, RandomQuestObjectiveType.WIN_BATTLE, 1, null);
+                    progress(playerId, RandomQuestObjectiveType.WIN_BATTLE, 1, null);
 
                     // DEFEAT_WILD / DEFEAT_TYPE - basierend auf besiegten Pokémon
                     for (var opponent : event.getLosers()) {
@@ -119,68 +131,68 @@ public class RandomQuestHook {
                             Pokemon pokemon = battlePokemon.getOriginalPokemon();
                             if (pokemon == null) continue;
 
-                            manager.addProgress(playerId, RandomQuestObjectiveType.DEFEAT_WILD, 1, null);
+                            progress(playerId, RandomQuestObjectiveType.DEFEAT_WILD, 1, null);
 
                             for (ElementalType type : pokemon.getTypes()) {
-                                manager.addProgress(playerId, RandomQuestObjectiveType.DEFEAT_TYPE, 1,
+                                progress(playerId, RandomQuestObjectiveType.DEFEAT_TYPE, 1,
                                         type.getName().toLowerCase());
                             }
                         }
                     }
                 }
             } catch (Exception e) {
-                EvolutionBoost.LOGGER.debug("[random-quest] Error in battle victory event: {}", e.getMessage());
+                VICTORY_ERRORS.report(e);
             }
 
             return Unit.INSTANCE;
-        });
+        }));
 
         // ==================== Evolution Events ====================
-        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.NORMAL, HookMetrics.timed("random-evolution", event -> {
             try {
                 Pokemon pokemon = event.getPokemon();
                 ServerPlayer player = findOwner(pokemon);
                 if (player != null) {
-                    RandomQuestManager.get().addProgress(player.getUUID(), RandomQuestObjectiveType.EVOLVE, 1, null);
+                    progress(player.getUUID(), RandomQuestObjectiveType.EVOLVE, 1, null);
                 }
             } catch (Exception e) {
-                EvolutionBoost.LOGGER.debug("[random-quest] Error in evolution event: {}", e.getMessage());
+                EVOLUTION_ERRORS.report(e);
             }
             return Unit.INSTANCE;
-        });
+        }));
 
         // ==================== Level Up Events ====================
-        CobblemonEvents.LEVEL_UP_EVENT.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.LEVEL_UP_EVENT.subscribe(Priority.NORMAL, HookMetrics.timed("random-levelup", event -> {
             try {
                 Pokemon pokemon = event.getPokemon();
                 ServerPlayer player = findOwner(pokemon);
                 if (player != null) {
                     // Jedes Level-Up zählt
                     int levelsGained = event.getNewLevel() - event.getOldLevel();
-                    RandomQuestManager.get().addProgress(player.getUUID(), RandomQuestObjectiveType.LEVEL_UP,
+                    progress(player.getUUID(), RandomQuestObjectiveType.LEVEL_UP,
                             levelsGained, null);
                 }
             } catch (Exception e) {
-                EvolutionBoost.LOGGER.debug("[random-quest] Error in level up event: {}", e.getMessage());
+                LEVELUP_ERRORS.report(e);
             }
             return Unit.INSTANCE;
-        });
+        }));
 
         // ==================== XP Events ====================
-        CobblemonEvents.EXPERIENCE_GAINED_EVENT_PRE.subscribe(Priority.NORMAL, event -> {
+        CobblemonEvents.EXPERIENCE_GAINED_EVENT_PRE.subscribe(Priority.NORMAL, HookMetrics.timed("random-xp", event -> {
             try {
                 Pokemon pokemon = event.getPokemon();
                 ServerPlayer player = findOwner(pokemon);
                 if (player != null) {
                     int xpGained = event.getExperience();
-                    RandomQuestManager.get().addProgress(player.getUUID(), RandomQuestObjectiveType.GAIN_POKEMON_XP,
+                    progress(player.getUUID(), RandomQuestObjectiveType.GAIN_POKEMON_XP,
                             xpGained, null);
                 }
             } catch (Exception e) {
-                EvolutionBoost.LOGGER.debug("[random-quest] Error in XP event: {}", e.getMessage());
+                XP_ERRORS.report(e);
             }
             return Unit.INSTANCE;
-        });
+        }));
 
         // Hinweis: HATCH_EGG ist derzeit nicht implementiert, da Cobblemon 1.6.1 kein Hatch-Event hat.
         // Kann später über POKEMON_GAINED + Level-1-Check implementiert werden.
@@ -188,6 +200,18 @@ public class RandomQuestHook {
         EvolutionBoost.LOGGER.info("[random-quest] Cobblemon hooks registered");
     }
 
+    /** Zusammenfassbarer Fortschritts-Schlüssel für {@link DeferredWork#merge}. */
+    private record Progress(UUID playerId, RandomQuestObjectiveType type, String parameter) {}
+
+    /**
+     * Fortschritt wird am Tick-Ende verbucht; gleiche Updates (Spieler, Typ, Parameter)
+     * innerhalb eines Ticks werden dabei zu einem addProgress-Aufruf zusammengefasst.
+     */
+    private static void progress(UUID playerId, RandomQuestObjectiveType type, int amount, String parameter) {
+        DeferredWork.merge(new Progress(playerId, type, parameter), amount,
+                (key, total) -> RandomQuestManager.get().addProgress(key.playerId(), key.type(), total, key.parameter()));
+    }
+
     /**
      * Prüft ob ein Pokémon seine Hidden Ability hat.
      */
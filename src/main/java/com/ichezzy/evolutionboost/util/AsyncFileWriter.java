@@ -0,0 +1,136 @@
+package com.ichezzy.evolutionboost.util;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-Behind-Speicher für JSON-Dateien auf einem eigenen IO-Thread.
+ *
+ * - schedule(): merkt die Datei als "dirty"; alle Änderungen innerhalb des Debounce-Fensters
+ *   werden zu EINEM Schreibvorgang zusammengefasst (der Serializer läuft erst beim Schreiben).
+ * - Geschrieben wird immer über eine .tmp-Datei + atomaren Move, damit nie eine halbe Datei liegt.
+ * - flush(): schreibt alles Ausstehende sofort (Server-Stop, Spieler-Disconnect).
+ * - flushAsync(): wie flush(Path), blockiert aber nicht.
+ *
+ * Der In-Memory-Zustand bleibt maßgeblich; die Datei holt ihn nur verzögert ein.
+ */
+public final class AsyncFileWriter {
+
+    /** Standard-Debounce-Fenster. */
+    public static final long DEFAULT_DEBOUNCE_MS = 1000L;
+
+    /** Wie lange flush() maximal auf den IO-Thread wartet. */
+    private static final long FLUSH_TIMEOUT_SECONDS = 30L;
+
+    /** Ein einziger Thread -> Schreibvorgänge auf dieselbe Datei sind automatisch geordnet. */
+    private static final ScheduledExecutorService IO = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "EvolutionBoost-IO");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Datei -> Serializer für den aktuellsten Stand (noch nicht geschrieben). */
+    private static final Map<Path, Supplier<String>> PENDING = new ConcurrentHashMap<>();
+
+    private AsyncFileWriter() {}
+
+    /** Plant einen Schreibvorgang mit dem Standard-Debounce-Fenster. */
+    public static void schedule(Path file, Supplier<String> serializer) {
+        schedule(file, serializer, DEFAULT_DEBOUNCE_MS);
+    }
+
+    /**
+     * Plant einen Schreibvorgang. Ist für die Datei schon einer geplant, wird nur der
+     * Serializer ersetzt – der Zeitpunkt bleibt (Änderungen werden zusammengefasst).
+     * Der Serializer läuft auf dem IO-Thread und muss selbst für Konsistenz sorgen.
+     */
+    public static void schedule(Path file, Supplier<String> serializer, long debounceMs) {
+        if (PENDING.put(file, serializer) == null) {
+            IO.schedule(() -> writePending(file), debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Schreibt alle ausstehenden Dateien und wartet darauf (blockierend). */
+    public static void flush() {
+        if (PENDING.isEmpty()) return;
+        try {
+            IO.submit(() -> {
+                for (Path file : new ArrayList<>(PENDING.keySet())) {
+                    writePending(file);
+                }
+            }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            EvolutionBoost.LOGGER.error("[io] Flushing pending writes failed: {}", e.toString());
+        }
+    }
+
+    /** Schreibt eine einzelne Datei sofort, falls für sie etwas aussteht (blockierend). */
+    public static void flush(Path file) {
+        if (!PENDING.containsKey(file)) return;
+        try {
+            IO.submit(() -> writePending(file)).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            EvolutionBoost.LOGGER.error("[io] Flushing {} failed: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Zieht den ausstehenden Schreibvorgang einer Datei vor, ohne darauf zu warten
+     * (z.B. Spieler-Disconnect auf dem Server-Thread).
+     */
+    public static void flushAsync(Path file) {
+        if (!PENDING.containsKey(file)) return;
+        IO.execute(() -> writePending(file));
+    }
+
+    /** Läuft immer auf dem IO-Thread. */
+    private static void writePending(Path file) {
+        Supplier<String> serializer = PENDING.remove(file);
+        if (serializer == null) return;
+
+        String content;
+        try {
+            content = serializer.get();
+        } catch (RuntimeException e) {
+            // z.B. gleichzeitige Änderung während der Serialisierung -> später erneut versuchen
+            EvolutionBoost.LOGGER.warn("[io] Serializing {} failed ({}), retrying.", file.getFileName(), e.toString());
+            schedule(file, serializer);
+            return;
+        }
+        if (content == null) return;
+
+        try {
+            writeAtomically(file, content);
+        } catch (IOException e) {
+            EvolutionBoost.LOGGER.error("[io] Failed to write {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** Schreibt synchron über .tmp + atomaren Move (nur vom IO-Thread aufrufen). */
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Path dir = file.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
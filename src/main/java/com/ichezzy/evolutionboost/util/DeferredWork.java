@@ -0,0 +1,105 @@
+package com.ichezzy.evolutionboost.util;
+
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Aufgeschobene Nebenarbeit der Cobblemon-Hooks (Quest-Fortschritt, Random-Quests,
+ * Dex-Milestones inkl. Chat-Benachrichtigungen).
+ *
+ * Die Hooks ziehen im Event nur die nötigen Werte heraus (Species, Typen, Level, ...)
+ * und reichen eine kleine Aufgabe ein; ausgeführt wird am END_SERVER_TICK innerhalb
+ * eines Zeitbudgets (debug.json: deferredWorkBudgetMicros). Was nicht mehr passt,
+ * bleibt für den nächsten Tick in der Queue – mindestens eine Aufgabe läuft pro Tick.
+ *
+ * {@link #merge} fasst gleichartige Zähler-Updates (gleicher Schlüssel) zusammen, solange
+ * sie noch nicht ausgeführt wurden – z.B. viele XP-Events desselben Spielers in einem Tick.
+ *
+ * Beim Stoppen wird vor dem Speichern alles ohne Budget abgearbeitet ({@link #drainAll}).
+ */
+public final class DeferredWork {
+
+    private static final Queue<Runnable> QUEUE = new ConcurrentLinkedQueue<>();
+
+    /** Noch nicht ausgeführte, zusammenfassbare Updates: Schlüssel -> aufsummierte Menge. */
+    private static final Map<Object, int[]> MERGED = new ConcurrentHashMap<>();
+
+    private static final HookErrors.Channel ERRORS =
+            HookErrors.channel("deferred", "[perf] error in deferred hook work");
+
+    private DeferredWork() {}
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(DeferredWork::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            QUEUE.clear();
+            MERGED.clear();
+        });
+    }
+
+    /** Reiht eine Aufgabe für das Tick-Ende ein. */
+    public static void submit(Runnable task) {
+        QUEUE.add(task);
+    }
+
+    /**
+     * Addiert {@code amount} auf ein noch ausstehendes Update mit gleichem Schlüssel oder
+     * reiht ein neues ein. {@code action} erhält Schlüssel und Gesamtmenge; der Schlüssel
+     * sollte ein Record sein (equals/hashCode).
+     */
+    public static <K> void merge(K key, int amount, ObjIntConsumer<K> action) {
+        MERGED.compute(key, (k, pending) -> {
+            if (pending == null) {
+                pending = new int[1];
+                QUEUE.add(() -> {
+                    int[] total = MERGED.remove(key);
+                    if (total != null) action.accept(key, total[0]);
+                });
+            }
+            pending[0] += amount;
+            return pending;
+        });
+    }
+
+    /** Anzahl wartender Aufgaben (für /eb admin perf). */
+    public static int pending() {
+        return QUEUE.size();
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        if (QUEUE.isEmpty()) return;
+
+        long budgetNanos = Math.max(0, DebugConfig.get().deferredWorkBudgetMicros) * 1000L;
+        long start = System.nanoTime();
+        Runnable task;
+        do {
+            task = QUEUE.poll();
+            if (task == null) break;
+            run(task);
+        } while (System.nanoTime() - start < budgetNanos);
+    }
+
+    /** Arbeitet alles sofort ab (Server-Stopp, vor dem Speichern). */
+    public static void drainAll() {
+        Runnable task;
+        while ((task = QUEUE.poll()) != null) {
+            run(task);
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            ERRORS.report(t);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ichezzy.evolutionboost.util;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gedrosseltes, aggregiertes Fehler-Logging für die Cobblemon-Hooks.
+ *
+ * Bricht ein Accessor nach einem Cobblemon-Update, würde sonst jeder Spawn/jedes XP-Event
+ * eine Warnung schreiben. Stattdessen werden Fehler pro (Hook, Exception-Klasse, Message)
+ * in lock-freien Zählern gesammelt; pro Schlüssel erscheint höchstens eine Log-Zeile pro
+ * Fenster (debug.json: hookErrorWindowSeconds), mit der Anzahl seit der letzten Meldung.
+ *
+ * Zusätzlich zählt jeder Kanal die Fehler im aktuellen Fenster. Erreicht er
+ * hookErrorTripThreshold, liefert {@link Channel#report} einmalig true – der Hook entscheidet
+ * dann selbst (typisierten Pfad abschalten bzw. Hook deaktivieren, siehe {@link Channel#disable}).
+ *
+ * Fehler landen außerdem im Fehlerzähler von {@link HookMetrics}.
+ */
+public final class HookErrors {
+
+    /** Maximal getrennt geführte Fehler-Schlüssel pro Kanal; alles darüber wird zusammengefasst. */
+    private static final int MAX_KEYS_PER_CHANNEL = 32;
+
+    private static final String OVERFLOW_KEY = "<other>";
+
+    private static final Map<String, Channel> CHANNELS = new ConcurrentHashMap<>();
+
+    private HookErrors() {}
+
+    /**
+     * Kanal für einen Hook. {@code label} ist der bisherige Log-Präfix,
+     * z.B. "[compat][xp] error in xp handler". {@code quiet} = nur Debug-Level.
+     */
+    public static Channel channel(String hook, String label, boolean quiet) {
+        return CHANNELS.computeIfAbsent(hook, k -> new Channel(hook, label, quiet));
+    }
+
+    public static Channel channel(String hook, String label) {
+        return channel(hook, label, false);
+    }
+
+    /** Meldet angestaute Zählerstände auch dann, wenn danach keine Fehler mehr kommen. */
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(HookErrors::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> flushAll(true));
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> CHANNELS.values().forEach(Channel::rearm));
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        if (server.getTickCount() % 20 != 0) return;
+        flushAll(false);
+    }
+
+    private static void flushAll(boolean force) {
+        long now = System.currentTimeMillis();
+        long windowMs = windowMs();
+        for (Channel c : CHANNELS.values()) {
+            for (Entry e : c.entries.values()) {
+                if (e.pending.sum() == 0) continue;
+                long last = e.lastLogMs.get();
+                if ((force || now - last >= windowMs) && e.lastLogMs.compareAndSet(last, now)) {
+                    c.log(e, e.pending.sumThenReset(), windowMs);
+                }
+            }
+        }
+    }
+
+    private static long windowMs() {
+        return Math.max(1, DebugConfig.get().hookErrorWindowSeconds) * 1000L;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Kanal                                                              */
+    /* ------------------------------------------------------------------ */
+
+    public static final class Channel {
+        private final String hook;
+        private final String label;
+        private final boolean quiet;
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        /** Fehler im laufenden Fenster (für die Auto-Abschaltung). */
+        private final AtomicInteger windowFailures = new AtomicInteger();
+        private final AtomicLong windowStartMs = new AtomicLong();
+
+        private volatile boolean disabled = false;
+
+        private Channel(String hook, String label, boolean quiet) {
+            this.hook = hook;
+            this.label = label;
+            this.quiet = quiet;
+        }
+
+        /** True, wenn der Hook wegen Dauerfehlern abgeschaltet wurde (bis zum nächsten Serverstart). */
+        public boolean disabled() {
+            return disabled;
+        }
+
+        /**
+         * Zählt einen Fehler und loggt gedrosselt.
+         * @return true genau dann, wenn in diesem Aufruf die Fehlerschwelle des Fensters erreicht wurde
+         */
+        public boolean report(Throwable t) {
+            HookMetrics.recordError(hook);
+
+            long now = System.currentTimeMillis();
+            long windowMs = windowMs();
+
+            Entry e = entry(t);
+            e.pending.increment();
+            long last = e.lastLogMs.get();
+            if (now - last >= windowMs && e.lastLogMs.compareAndSet(last, now)) {
+                log(e, e.pending.sumThenReset(), windowMs);
+            }
+
+            long start = windowStartMs.get();
+            if (now - start >= windowMs && windowStartMs.compareAndSet(start, now)) {
+                windowFailures.set(0);
+            }
+            int threshold = DebugConfig.get().hookErrorTripThreshold;
+            return threshold > 0 && windowFailures.incrementAndGet() == threshold;
+        }
+
+        /** Schaltet den Hook ab; weitere Events werden ignoriert. */
+        public void disable(Throwable cause) {
+            if (disabled) return;
+            disabled = true;
+            EvolutionBoost.LOGGER.error("{}: failing continuously ({}), hook disabled until restart.",
+                    label, cause.toString());
+        }
+
+        private void rearm() {
+            disabled = false;
+            windowFailures.set(0);
+        }
+
+        private Entry entry(Throwable t) {
+            String key = t.getClass().getName() + ": " + t.getMessage();
+            Entry e = entries.get(key);
+            if (e != null) return e;
+            if (entries.size() >= MAX_KEYS_PER_CHANNEL) {
+                return entries.computeIfAbsent(OVERFLOW_KEY, k -> new Entry("further errors"));
+            }
+            return entries.computeIfAbsent(key, k -> new Entry(t.toString()));
+        }
+
+        private void log(Entry e, long count, long windowMs) {
+            if (count <= 0) return;
+            String suffix = count == 1 ? "" : " (" + count + "x in the last " + (windowMs / 1000) + "s)";
+            if (quiet) {
+                EvolutionBoost.LOGGER.debug("{}: {}{}", label, e.text, suffix);
+            } else {
+                EvolutionBoost.LOGGER.warn("{}: {}{}", label, e.text, suffix);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String text;
+        final LongAdder pending = new LongAdder();
+        /** 0 = noch nie geloggt -> erster Fehler erscheint sofort. */
+        final AtomicLong lastLogMs = new AtomicLong();
+
+        Entry(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ichezzy.evolutionboost.util;
+
+import com.ichezzy.evolutionboost.EvolutionBoost;
+import com.ichezzy.evolutionboost.configs.DebugConfig;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Laufzeit-Messung der Cobblemon-Hooks (Server-Thread-Zeit pro Aufruf).
+ *
+ * Jede Subscription wird mit {@link #timed} umhüllt: ein nanoTime-Delta pro Aufruf landet
+ * in einem lock-freien, logarithmisch gebucketeten Histogramm (4 Sub-Buckets pro
+ * Zweierpotenz, ~25 % Auflösung), dazu Aufruf- und Fehlerzähler.
+ *
+ * Auswertung über /eb admin perf und periodisch im Log (debug.json: perfSummaryIntervalMinutes).
+ */
+public final class HookMetrics {
+
+    private static final Map<String, Histogram> HOOKS = new ConcurrentHashMap<>();
+
+    /** Aufrufzahl beim letzten Log-Summary (nur Hooks mit neuen Aufrufen werden geloggt). */
+    private static final Map<String, Long> LAST_LOGGED_COUNT = new ConcurrentHashMap<>();
+
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+
+    private HookMetrics() {}
+
+    /** Umhüllt einen Cobblemon-Handler mit Zeitmessung. */
+    public static <T> Function1<T, Unit> timed(String hook, Function1<T, Unit> handler) {
+        Histogram h = histogram(hook);
+        return event -> {
+            long start = System.nanoTime();
+            try {
+                return handler.invoke(event);
+            } catch (Throwable t) {
+                h.errors.increment();
+                throw t;
+            } finally {
+                h.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /** Zählt einen im Hook abgefangenen Fehler. */
+    public static void recordError(String hook) {
+        histogram(hook).errors.increment();
+    }
+
+    public static Histogram histogram(String hook) {
+        return HOOKS.computeIfAbsent(hook, k -> new Histogram());
+    }
+
+    /** Momentaufnahme aller Hooks, sortiert nach Name. */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> out = new ArrayList<>(HOOKS.size());
+        HOOKS.forEach((name, h) -> out.add(h.snapshot(name)));
+        out.sort((a, b) -> a.hook().compareTo(b.hook()));
+        return out;
+    }
+
+    public static void reset() {
+        HOOKS.values().forEach(Histogram::reset);
+    }
+
+    /** Periodische Zusammenfassung ins Log (nur Hooks mit neuen Aufrufen). */
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(HookMetrics::onServerTick);
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        int minutes = DebugConfig.get().perfSummaryIntervalMinutes;
+        if (minutes <= 0) return;
+        if (server.getTickCount() % (minutes * TICKS_PER_MINUTE) != 0) return;
+
+        for (Snapshot s : snapshot()) {
+            long previous = LAST_LOGGED_COUNT.getOrDefault(s.hook(), 0L);
+            if (s.count() == previous) continue;
+            LAST_LOGGED_COUNT.put(s.hook(), s.count());
+            EvolutionBoost.LOGGER.info("[perf] {}", s.format());
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Histogramm                                                         */
+    /* ------------------------------------------------------------------ */
+
+    public static final class Histogram {
+        /** 4 Sub-Buckets pro Zweierpotenz über den vollen long-Bereich. */
+        private static final int BUCKETS = 64 * 4;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            if (nanos < 0) nanos = 0;
+            buckets.incrementAndGet(bucketOf(nanos));
+            count.increment();
+            totalNanos.add(nanos);
+            long m = max.get();
+            while (nanos > m && !max.compareAndSet(m, nanos)) {
+                m = max.get();
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            count.reset();
+            totalNanos.reset();
+            errors.reset();
+            max.set(0);
+        }
+
+        /** 0..3 direkt; darüber Exponent × 4 + die zwei Bits unter dem höchsten Bit. */
+        static int bucketOf(long nanos) {
+            if (nanos < 4) return (int) nanos;
+            int exp = 63 - Long.numberOfLeadingZeros(nanos);
+            int sub = (int) (nanos >>> (exp - 2)) & 3;
+            return exp * 4 + sub;
+        }
+
+        /** Obergrenze eines Buckets (Quantile werden konservativ nach oben gerundet). */
+        static long upperBound(int bucket) {
+            if (bucket < 4) return bucket;
+            int exp = bucket >>> 2;
+            int sub = bucket & 3;
+            return ((4L + sub + 1) << (exp - 2)) - 1;
+        }
+
+        Snapshot snapshot(String hook) {
+            long[] copy = new long[BUCKETS];
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = buckets.get(i);
+                n += copy[i];
+            }
+            long total = count.sum();
+            return new Snapshot(hook, total, errors.sum(),
+                    total == 0 ? 0 : totalNanos.sum() / total,
+                    quantile(copy, n, 0.50), quantile(copy, n, 0.99), max.get());
+        }
+
+        private static long quantile(long[] b, long n, double q) {
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(q * n);
+            long seen = 0;
+            for (int i = 0; i < b.length; i++) {
+                seen += b[i];
+                if (seen >= rank) return upperBound(i);
+            }
+            return upperBound(b.length - 1);
+        }
+    }
+
+    /** Werte in Nanosekunden. */
+    public record Snapshot(String hook, long count, long errors, long meanNanos,
+                           long p50Nanos, long p99Nanos, long maxNanos) {
+
+        public String format() {
+            return hook + ": n=" + count + " err=" + errors
+                    + " mean=" + micros(meanNanos) + " p50=" + micros(p50Nanos)
+                    + " p99=" + micros(p99Nanos) + " max=" + micros(maxNanos);
+        }
+
+        /** Nanosekunden als "12.3µs" bzw. "4.56ms". */
+        public static String micros(long nanos) {
+            if (nanos >= 1_000_000L) {
+                return (nanos / 10_000L) / 100.0 + "ms";
+            }
+            return (nanos / 100L) / 10.0 + "µs";
+        }
+    }
+}
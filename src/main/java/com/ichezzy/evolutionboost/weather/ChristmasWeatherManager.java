@@ -4,6 +4,7 @@ import com.ichezzy.evolutionboost.EvolutionBoost;
 import com.ichezzy.evolutionboost.boost.BoostManager;
 import com.ichezzy.evolutionboost.boost.BoostType;
 import com.ichezzy.evolutionboost.configs.EventConfig;
+import com.ichezzy.evolutionboost.hud.TrackedBossbar;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
@@ -12,7 +13,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerBossEvent;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.BossEvent;
@@ -23,7 +23,6 @@ import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -56,7 +55,7 @@ public final class ChristmasWeatherManager {
     private static final int DAMAGE_INTERVAL = 20 * 3;      // Alle 3 Sekunden Schaden wenn voll eingefroren
 
     // Bossbar für den Sturm
-    private static ServerBossEvent stormBossbar = null;
+    private static TrackedBossbar stormBossbar = null;
 
     private static final Random RANDOM = new Random();
 
@@ -348,21 +347,14 @@ public final class ChristmasWeatherManager {
             removeBossbar();
         }
 
-        stormBossbar = new ServerBossEvent(
+        // Nur Spieler in der Christmas-Dimension; Dimensionswechsel pflegt TrackedBossbar selbst
+        stormBossbar = TrackedBossbar.create(
+                server,
                 Component.literal("❄ BLIZZARD ❄").withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD),
                 BossEvent.BossBarColor.BLUE,
-                BossEvent.BossBarOverlay.PROGRESS
+                BossEvent.BossBarOverlay.PROGRESS,
+                CHRISTMAS_DIM
         );
-
-        // Alle Spieler in der Christmas-Dimension hinzufügen
-        ServerLevel level = getChristmasLevel(server);
-        if (level != null) {
-            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-                if (player.serverLevel() == level) {
-                    stormBossbar.addPlayer(player);
-                }
-            }
-        }
     }
 
     private static void updateBossbar(MinecraftServer server) {
@@ -373,40 +365,24 @@ public final class ChristmasWeatherManager {
 
         // Progress berechnen (1.0 = voll, 0.0 = leer)
         float progress = 1.0f - ((float) christmasTicks / (float) stormDurationTicks);
-        stormBossbar.setProgress(Math.max(0f, Math.min(1f, progress)));
 
         // Verbleibende Zeit im Titel
-        int remainingSeconds = (stormDurationTicks - christmasTicks) / 20;
+        int remainingSeconds = Math.max(0, (stormDurationTicks - christmasTicks) / 20);
         int minutes = remainingSeconds / 60;
         int seconds = remainingSeconds % 60;
+        String timer = minutes + (seconds < 10 ? ":0" : ":") + seconds;
 
-        stormBossbar.setName(
-                Component.literal("❄ BLIZZARD ❄ ").withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD)
-                        .append(Component.literal(String.format("%d:%02d", minutes, seconds)).withStyle(ChatFormatting.WHITE))
-        );
+        stormBossbar.update(timer, ChristmasWeatherManager::bossbarTitle, progress);
+    }
 
-        // Spieler aktualisieren (neue Spieler hinzufügen, alte entfernen)
-        ServerLevel level = getChristmasLevel(server);
-        if (level != null) {
-            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-                if (player.serverLevel() == level) {
-                    if (!stormBossbar.getPlayers().contains(player)) {
-                        stormBossbar.addPlayer(player);
-                    }
-                } else {
-                    if (stormBossbar.getPlayers().contains(player)) {
-                        stormBossbar.removePlayer(player);
-                    }
-                }
-            }
-        }
+    private static Component bossbarTitle(String timer) {
+        return Component.literal("❄ BLIZZARD ❄ ").withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD)
+                .append(Component.literal(timer).withStyle(ChatFormatting.WHITE));
     }
 
     private static void removeBossbar() {
         if (stormBossbar != null) {
-            for (ServerPlayer player : new ArrayList<>(stormBossbar.getPlayers())) {
-                stormBossbar.removePlayer(player);
-            }
+            stormBossbar.remove();
             stormBossbar = null;
         }
     }